@@ -0,0 +1,79 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.entity.Book;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encoding and decoding a 100-book page as JSON, CBOR and Smile; sizes are in PayloadSizeReport
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private List<BookResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = mapper(format);
+        pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, BookResponse.class);
+        page = page(100);
+        encoded = objectMapper.writeValueAsBytes(page);
+    }
+
+    // Same settings as the application's message converters for each media type
+    static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    static List<BookResponse> page(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Book> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book next = Fixtures.book(i);
+            next.setId(i + 1L);
+            next.setCreatedAt(now);
+            next.setUpdatedAt(now);
+            next.setVersion(1L);
+            books.add(next);
+        }
+        return new BookMapperImpl().toResponseList(books);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<BookResponse> decodePage() throws Exception {
+        return objectMapper.readValue(encoded, pageType);
+    }
+}
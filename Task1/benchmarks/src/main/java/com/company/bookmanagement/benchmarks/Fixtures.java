@@ -0,0 +1,44 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic catalog shared by all benchmarks
+final class Fixtures {
+    static final int AUTHORS = 1_000;
+    private static final String[] ADJECTIVES = {
+            "Silent", "Crimson", "Hidden", "Last", "Broken", "Golden", "Distant", "Quiet", "Burning", "Frozen"
+    };
+    private static final String[] NOUNS = {
+            "River", "Garden", "Empire", "Letter", "Harbor", "Mountain", "Winter", "Kingdom", "Mirror", "Forest"
+    };
+    private static final String[] GENRES = {"Fiction", "History", "Poetry", "Science", "Drama"};
+
+    private Fixtures() {
+    }
+
+    static Book book(long i) {
+        return Book.builder()
+                .title("The " + ADJECTIVES[(int) (i % ADJECTIVES.length)] + " "
+                        + NOUNS[(int) (i / ADJECTIVES.length % NOUNS.length)] + " " + i)
+                .author("Author " + i % AUTHORS)
+                .genre(GENRES[(int) (i % GENRES.length)])
+                .year(1900 + (int) (i % 120))
+                .build();
+    }
+
+    static void populate(BookRepository repository, int size) {
+        int chunk = 10_000;
+        for (int start = 0; start < size; start += chunk) {
+            int end = Math.min(size, start + chunk);
+            List<Book> books = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                books.add(book(i));
+            }
+            repository.saveAll(books);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.repository.impl.MappedBookRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Heap retained by each repository implementation after loading N books, plus the
+ * size of the mapped file. JMH measures time, not footprint, hence a plain main:
+ *
+ *   java -cp target/benchmarks.jar com.company.bookmanagement.benchmarks.FootprintReport 1000000
+ */
+public final class FootprintReport {
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%-10s %12s %14s %14s %12s%n", "store", "books", "heap MB", "bytes/book", "file MB");
+        report("in-memory", size, null);
+        Path file = Files.createTempFile("books", ".dat");
+        report("mapped", size, file);
+    }
+
+    private static void report(String store, int size, Path file) throws Exception {
+        long before = usedHeap();
+        BookRepository repository = file == null
+                ? new InMemoryBookRepository(List.of())
+                : new MappedBookRepository(List.of(), file, 256 << 20);
+        Fixtures.populate(repository, size);
+        long retained = usedHeap() - before;
+        long fileBytes = file == null ? 0 : Files.size(file);
+        System.out.printf("%-10s %12d %14.1f %14.1f %12.1f%n", store, repository.count(),
+                retained / 1048576.0, (double) retained / size, fileBytes / 1048576.0);
+        if (repository instanceof MappedBookRepository mapped) {
+            mapped.close();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.id.BlockIdAllocator;
+import com.company.bookmanagement.repository.id.BookIdAllocator;
+import com.company.bookmanagement.repository.id.SequentialIdAllocator;
+import com.company.bookmanagement.repository.id.SnowflakeIdAllocator;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.repository.impl.PartitionedBookRepository;
+import com.company.bookmanagement.repository.persistence.BookJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID allocation alone, and inserts into a 100k-book store, for each allocator and for the
+ * single and the partitioned in-memory repository. Inserted books are deleted again so the
+ * store keeps its size; the *Contended variants run four threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocationBenchmark {
+
+    @Param({"sequential", "block", "snowflake"})
+    private String ids;
+
+    @Param({"single", "partitioned"})
+    private String store;
+
+    private BookIdAllocator allocator;
+    private BookRepository repository;
+    private Book template;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        allocator = switch (ids) {
+            case "sequential" -> new SequentialIdAllocator();
+            case "block" -> new BlockIdAllocator(1024, 0, 1);
+            case "snowflake" -> new SnowflakeIdAllocator(0);
+            default -> throw new IllegalArgumentException("Unknown allocator: " + ids);
+        };
+        repository = store.equals("partitioned")
+                ? new PartitionedBookRepository(List.of(), BookJournal.NONE, allocator, 8)
+                : new InMemoryBookRepository(List.of(), BookJournal.NONE, allocator);
+        Fixtures.populate(repository, 100_000);
+        template = Fixtures.book(100_000);
+    }
+
+    @Benchmark
+    public long next() {
+        return allocator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextContended() {
+        return allocator.next();
+    }
+
+    @Benchmark
+    public boolean insert() {
+        return repository.deleteById(repository.save(template.toBuilder().build()).getId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean insertContended() {
+        return repository.deleteById(repository.save(template.toBuilder().build()).getId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.CreateBookRequest;
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.search.BookSearchIndex;
+import com.company.bookmanagement.service.BookImportService;
+import com.company.bookmanagement.service.BookService;
+import com.company.bookmanagement.service.impl.BookImportServiceImpl;
+import com.company.bookmanagement.service.impl.BookServiceImpl;
+import com.company.bookmanagement.stats.BookStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The nightly catalog import at full size, into an empty store, without the network:
+ * one POST /api/books per row, POST /api/books/batch per chunk of rows, and the
+ * streaming POST /api/books/import. Each variant decodes the request bodies and
+ * validates every row the way its endpoint does, so the three do the same per-book
+ * work and differ only in what is paid per request. The HTTP round trip, filters and
+ * access logging per request come on top; measure those with LoadTest.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private final ObjectMapper objectMapper = EncodingBenchmark.mapper("json");
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private ObjectReader rowReader;
+    private ObjectReader batchReader;
+    private List<byte[]> rowBodies;
+    private List<byte[]> batchBodies;
+    private byte[] ndjson;
+
+    private BookService service;
+    private BookImportService importService;
+
+    @Setup(Level.Trial)
+    public void encode() throws Exception {
+        rowReader = objectMapper.readerFor(CreateBookRequest.class);
+        batchReader = objectMapper.readerFor(BatchCreateBooksRequest.class);
+        List<CreateBookRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Book book = Fixtures.book(i);
+            requests.add(CreateBookRequest.builder()
+                    .title(book.getTitle())
+                    .author(book.getAuthor())
+                    .genre(book.getGenre())
+                    .year(book.getYear())
+                    .build());
+        }
+
+        rowBodies = new ArrayList<>(rows);
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (CreateBookRequest request : requests) {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            rowBodies.add(body);
+            lines.write(body);
+            lines.write('\n');
+        }
+        ndjson = lines.toByteArray();
+
+        batchBodies = new ArrayList<>();
+        for (int start = 0; start < rows; start += batchSize) {
+            List<CreateBookRequest> items = requests.subList(start, Math.min(rows, start + batchSize));
+            batchBodies.add(objectMapper.writeValueAsBytes(BatchCreateBooksRequest.builder().items(items).build()));
+        }
+    }
+
+    // A fresh, empty store for every import, wired like ServiceBenchmark
+    @Setup(Level.Invocation)
+    public void setUp() {
+        BookSearchIndex searchIndex = new BookSearchIndex();
+        BookStatistics statistics = new BookStatistics();
+        InMemoryBookRepository repository = new InMemoryBookRepository(List.of(searchIndex, statistics));
+        BookMapperImpl mapper = new BookMapperImpl();
+        service = new BookServiceImpl(repository, mapper, searchIndex, statistics, validator);
+        importService = new BookImportServiceImpl(repository, mapper, validator, objectMapper);
+    }
+
+    // What POST /api/books does per row: decode, @Valid, create
+    @Benchmark
+    public long singleRequests() throws Exception {
+        long created = 0;
+        for (byte[] body : rowBodies) {
+            CreateBookRequest request = rowReader.readValue(body);
+            if (validator.validate(request).isEmpty()) {
+                service.createBook(request);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    // POST /api/books/batch validates each item inside the service
+    @Benchmark
+    public long batchRequests() throws Exception {
+        long created = 0;
+        for (byte[] body : batchBodies) {
+            BatchCreateBooksRequest request = batchReader.readValue(body);
+            created += service.createBooks(request).getSucceeded();
+        }
+        return created;
+    }
+
+    @Benchmark
+    public ImportSummary streamingImport() throws Exception {
+        return importService.importBooks(new ByteArrayInputStream(ndjson), BookImportService.Format.NDJSON);
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.bookmanagement.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load against a running service: each of N clients keeps one
+ * request in flight for the whole run. Reports throughput and latency percentiles,
+ * to compare the default platform-thread pool with the "virtual" profile at the
+ * same concurrency. Plain {@code main}, not JMH.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.company.bookmanagement.benchmarks.LoadTest \
+ *     http://localhost:9000/api/books/1 10000 30
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:9000/api/books/1");
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        Duration warmup = Duration.ofSeconds(5);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<Future<Client>> futures = new ArrayList<>(connections);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                futures.add(clients.submit(() -> run(client, request, measureFrom, end)));
+            }
+        }
+
+        long completed = 0;
+        long errors = 0;
+        long[] latencies = new long[0];
+        for (Future<Client> future : futures) {
+            Client result = future.get();
+            completed += result.count;
+            errors += result.errors;
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + result.count);
+            System.arraycopy(result.latencies, 0, latencies, offset, result.count);
+        }
+        Arrays.sort(latencies);
+
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%s, %d connections, %d s%n", uri, connections, duration.toSeconds());
+        System.out.printf("requests: %d, errors: %d, throughput: %.0f req/s%n", completed, errors, completed / seconds);
+        System.out.printf("latency ms  p50 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(latencies, 0.5), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), percentile(latencies, 1.0));
+    }
+
+    private static Client run(HttpClient client, HttpRequest request, long measureFrom, long end) {
+        Client result = new Client();
+        long now = System.nanoTime();
+        while (now < end) {
+            long start = now;
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+            } catch (Exception ex) {
+                ok = false;
+            }
+            now = System.nanoTime();
+            if (start >= measureFrom) {
+                if (ok) {
+                    result.record(now - start);
+                } else {
+                    result.errors++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static final class Client {
+        long[] latencies = new long[256];
+        int count;
+        long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.bookmanagement.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.company.bookmanagement.model.entity.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one GET /api/books/{id}: the per-step INFO lines the controller,
+ * service and repository used to write against the single access-log record, each
+ * through a synchronous file appender and through the prod profile's async appender.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    private LoggerContext context;
+    private Logger log;
+    private Path file;
+    private Book book;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new LoggerContext();
+        file = Files.createTempFile("bookmanagement", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> root = fileAppender;
+        if (appender.equals("async")) {
+            // Same settings as logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(819);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            root = async;
+        }
+        log = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        log.detachAndStopAllAppenders();
+        log.addAppender(root);
+        log.setLevel(Level.INFO);
+        book = Fixtures.book(1);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void perStepLines() {
+        Long id = book.getId();
+        log.info("GET /api/books/{} - Fetching book", id);
+        log.info("Fetching book with ID: {}", id);
+        log.info("Book saved: {}", book);
+        log.info("Found book: {}", book.getTitle());
+    }
+
+    @Benchmark
+    public void accessRecord() {
+        log.info("method={} path={} query={} status={} durationMicros={}",
+                "GET", "/api/books/1", null, 200, 42);
+    }
+}
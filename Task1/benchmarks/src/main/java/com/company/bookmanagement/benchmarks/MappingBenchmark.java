@@ -0,0 +1,98 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.cache.BookResponseCache;
+import com.company.bookmanagement.cache.ProjectedBookWriter;
+import com.company.bookmanagement.mapper.BookMapper;
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping and JSON serialization of single-book responses
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final BookMapper mapper = new BookMapperImpl();
+    private ObjectMapper objectMapper;
+    private BookResponseCache cache;
+    private ProjectedBookWriter projectedWriter;
+    private int idAndTitle;
+    private Book book;
+    private List<Book> page;
+    private List<BookResponse> responsePage;
+    private BookResponse response;
+    private String etag;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the application in the prod profile
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cache = new BookResponseCache(objectMapper, 64 << 20, new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Book next = Fixtures.book(i);
+            next.setId(i + 1L);
+            next.setCreatedAt(now);
+            next.setUpdatedAt(now);
+            next.setVersion(1L);
+            page.add(next);
+        }
+        book = page.get(0);
+        responsePage = mapper.toResponseList(page);
+        projectedWriter = new ProjectedBookWriter(objectMapper);
+        idAndTitle = ProjectedBookWriter.parseFields("id,title");
+        response = mapper.toResponse(book);
+        etag = ETagUtil.etagOf(response.getId(), response.getVersion());
+    }
+
+    @Benchmark
+    public BookResponse toResponse() {
+        return mapper.toResponse(book);
+    }
+
+    @Benchmark
+    public List<BookResponse> toResponseList100() {
+        return mapper.toResponseList(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // What GET /api/books/{id} does on a cache hit
+    @Benchmark
+    public byte[] serializeCached() {
+        return cache.serialize(response, etag);
+    }
+
+    // GET /api/books, full page versus ?fields=id,title
+    @Benchmark
+    public byte[] serializePage100() {
+        return projectedWriter.writeList(responsePage, ProjectedBookWriter.ALL_FIELDS);
+    }
+
+    @Benchmark
+    public byte[] serializePage100IdAndTitle() {
+        return projectedWriter.writeList(responsePage, idAndTitle);
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.metrics.BookMetrics;
+import com.company.bookmanagement.model.entity.Book;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Recording cost of the instrumentation added to the request path; the budget is 100 ns per call
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"histogram", "percentiles", "both"})
+    private String distribution;
+
+    private Timer timer;
+    private BookMetrics bookMetrics;
+    private Book previous;
+    private Book current;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // Same distribution settings application.yml applies to http.server.requests
+        Timer.Builder builder = Timer.builder("benchmark.timer").maximumExpectedValue(Duration.ofSeconds(10));
+        if (!distribution.equals("percentiles")) {
+            builder.publishPercentileHistogram();
+        }
+        if (!distribution.equals("histogram")) {
+            builder.publishPercentiles(0.5, 0.99, 0.999);
+        }
+        timer = builder.register(registry);
+        bookMetrics = new BookMetrics(null);
+        previous = Fixtures.book(1);
+        current = Fixtures.book(2);
+    }
+
+    @Benchmark
+    public void timerRecord() {
+        timer.record(randomDuration(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timerRecordContended() {
+        timer.record(randomDuration(), TimeUnit.NANOSECONDS);
+    }
+
+    // What every repository write pays for the estimated size gauge
+    @Benchmark
+    public void onSaved() {
+        bookMetrics.onSaved(previous, current);
+    }
+
+    // Durations spread between 100 us and 10 ms so several histogram buckets are hit
+    private static long randomDuration() {
+        return ThreadLocalRandom.current().nextLong(100_000, 10_000_000);
+    }
+}
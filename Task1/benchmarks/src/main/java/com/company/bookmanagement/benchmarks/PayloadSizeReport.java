@@ -0,0 +1,43 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response body sizes for one book and for pages of books in each encoding, raw and
+ * gzipped as server.compression would send them. Sizes are deterministic, so a plain
+ * main rather than a JMH run:
+ *
+ *   java -cp target/benchmarks.jar com.company.bookmanagement.benchmarks.PayloadSizeReport
+ */
+public final class PayloadSizeReport {
+
+    private static final int[] PAGE_SIZES = {1, 20, 100, 1000};
+
+    private PayloadSizeReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-6s %6s %12s %12s %8s%n", "format", "books", "raw bytes", "gzip bytes", "ratio");
+        for (String format : new String[]{"json", "cbor", "smile"}) {
+            ObjectMapper mapper = EncodingBenchmark.mapper(format);
+            for (int size : PAGE_SIZES) {
+                Object body = size == 1 ? EncodingBenchmark.page(1).get(0) : EncodingBenchmark.page(size);
+                byte[] raw = mapper.writeValueAsBytes(body);
+                int gzipped = gzip(raw).length;
+                System.out.printf("%-6s %6d %12d %12d %8.2f%n", format, size, raw.length, gzipped,
+                        (double) gzipped / raw.length);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
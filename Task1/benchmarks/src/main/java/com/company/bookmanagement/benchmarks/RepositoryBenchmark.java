@@ -0,0 +1,133 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.repository.impl.MappedBookRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository hot path for both implementations. The 10M size needs a large heap for
+ * the in-memory store: add -jvmArgsAppend -Xmx12g. The *Contended variants run four
+ * threads against the same store.
+ * <p>
+ * save overwrites a book with one whose author, genre and year are unchanged, so the
+ * secondary indexes are untouched; saveReindexed gives it a random author, genre and
+ * year, so every save moves the book between posting lists. findPageByAuthorScan runs
+ * the filtered scan of BookRepository on the same store that findPageByAuthor serves
+ * from the author index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"in-memory", "mapped"})
+    private String store;
+
+    private BookRepository repository;
+    private Path file;
+    private BookFilter authorFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (store.equals("mapped")) {
+            file = Files.createTempFile("books", ".dat");
+            repository = new MappedBookRepository(List.of(), file, 256 << 20);
+        } else {
+            repository = new InMemoryBookRepository(List.of());
+        }
+        Fixtures.populate(repository, size);
+        authorFilter = BookFilter.builder().author("Author 7").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof MappedBookRepository mapped) {
+            mapped.close();
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    @Benchmark
+    public Optional<Book> findById() {
+        return repository.findById(randomId());
+    }
+
+    // Unconditional overwrites of an existing book (no version, so no compare-and-set failures)
+    private Book unchanged(long id) {
+        // Fixtures.populate stored book(i) under ID i + 1
+        return Fixtures.book(id - 1).toBuilder().id(id).build();
+    }
+
+    private Book reindexed(long id) {
+        return Fixtures.book(ThreadLocalRandom.current().nextLong(Fixtures.AUTHORS * 120L)).toBuilder().id(id).build();
+    }
+
+    @Benchmark
+    public Book save() {
+        return repository.save(unchanged(randomId()));
+    }
+
+    @Benchmark
+    public Book saveReindexed() {
+        return repository.save(reindexed(randomId()));
+    }
+
+    @Benchmark
+    public List<Book> findPage() {
+        return repository.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    public List<Book> findPageByAuthor() {
+        return repository.findPage(authorFilter, null, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Book> findPageByAuthorScan() {
+        return BookRepository.scanPage(repository, authorFilter, null, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Book> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Book> findByIdContended() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Book saveContended() {
+        return repository.save(unchanged(randomId()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Book saveReindexedContended() {
+        return repository.save(reindexed(randomId()));
+    }
+}
@@ -0,0 +1,126 @@
+package com.company.bookmanagement.benchmarks;
+
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.CreateBookRequest;
+import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.BatchItemResult;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.search.BookSearchIndex;
+import com.company.bookmanagement.service.BookService;
+import com.company.bookmanagement.service.impl.BookServiceImpl;
+import com.company.bookmanagement.stats.BookStatistics;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// BookServiceImpl wired the way the application wires it: in-memory repository plus search index
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private BookService service;
+    private Validator validator;
+    private List<CreateBookRequest> hundredBooks;
+    private UpdateBookRequest update;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BookSearchIndex searchIndex = new BookSearchIndex();
+        BookStatistics statistics = new BookStatistics();
+        InMemoryBookRepository repository = new InMemoryBookRepository(List.of(searchIndex, statistics));
+        Fixtures.populate(repository, size);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        service = new BookServiceImpl(repository, new BookMapperImpl(), searchIndex, statistics, validator);
+
+        hundredBooks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            hundredBooks.add(CreateBookRequest.builder()
+                    .title("Benchmark Title " + i)
+                    .author("Benchmark Author")
+                    .year(2000)
+                    .build());
+        }
+        update = UpdateBookRequest.builder().genre("Updated").build();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    @Benchmark
+    public BookResponse getBookById() {
+        return service.getBookById(randomId());
+    }
+
+    @Benchmark
+    public BookResponse updateBook() {
+        return service.updateBook(randomId(), update);
+    }
+
+    // GET /api/books/stats from the maintained counters versus a parallel recount
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CatalogStats stats() {
+        return service.getStats(false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CatalogStats statsRecomputed() {
+        return service.getStats(true);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BookSearchResult searchBooks() {
+        return service.searchBooks("silent riv", 20);
+    }
+
+    /*
+     * 100 single creates and deletes versus the same work through the batch endpoints.
+     * createBooks validates every item itself, while createBook relies on the controller's
+     * @Valid, so the single variant validates here to do the same work.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int createAndDelete100Single() {
+        int deleted = 0;
+        List<Long> ids = new ArrayList<>(hundredBooks.size());
+        for (CreateBookRequest request : hundredBooks) {
+            if (validator.validate(request).isEmpty()) {
+                ids.add(service.createBook(request).getId());
+            }
+        }
+        for (Long id : ids) {
+            service.deleteBook(id);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BatchResponse createAndDelete100Batch() {
+        BatchResponse created = service.createBooks(BatchCreateBooksRequest.builder().items(hundredBooks).build());
+        List<Long> ids = created.getResults().stream().map(BatchItemResult::getId).toList();
+        return service.deleteBooks(BatchDeleteBooksRequest.builder().ids(ids).build());
+    }
+}
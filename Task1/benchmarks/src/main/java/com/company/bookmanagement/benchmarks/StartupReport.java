@@ -0,0 +1,111 @@
+package com.company.bookmanagement.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Time from process launch to the first successful GET /api/books, and resident set
+ * size right after it, for each startup mode built by Task1/pom.xml. Every mode runs
+ * with the prod profile, which the AOT and native builds were processed for. Plain
+ * {@code main}, Linux only (RSS comes from /proc), run from Task1 after building:
+ *
+ *   mvn package && mvn -Pstartup package && mvn -Pnative native:compile
+ *   java -cp benchmarks/target/benchmarks.jar com.company.bookmanagement.benchmarks.StartupReport 5
+ */
+public final class StartupReport {
+
+    private static final String JAR = "target/book-management-api-1.0.0-SNAPSHOT-exec.jar";
+    private static final String CDS_DIR = "target/cds";
+    private static final String NATIVE = "target/book-management-api";
+    private static final URI FIRST_REQUEST = URI.create("http://localhost:9000/api/books?limit=1");
+
+    private StartupReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path work = Files.createTempDirectory("bookmanagement-startup");
+        List<String> prod = List.of("--spring.profiles.active=prod",
+                "--logging.file.name=" + work.resolve("app.log"),
+                "--bookmanagement.persistence.directory=" + work.resolve("data"));
+
+        System.out.printf("%-10s %20s %12s%n", "mode", "first request ms", "RSS MB");
+        report("jar", runs, JAR, command(prod, "java", "-jar", JAR));
+        report("aot+cds", runs, CDS_DIR + "/application.jsa", command(prod, "java",
+                "-XX:SharedArchiveFile=" + CDS_DIR + "/application.jsa", "-Dspring.aot.enabled=true",
+                "-jar", CDS_DIR + "/book-management-api-1.0.0-SNAPSHOT-exec.jar"));
+        report("native", runs, NATIVE, command(prod, NATIVE));
+    }
+
+    private static List<String> command(List<String> appArgs, String... launcher) {
+        List<String> command = new ArrayList<>(Arrays.asList(launcher));
+        command.addAll(appArgs);
+        return command;
+    }
+
+    // Median of the runs; a missing artifact skips the mode
+    private static void report(String mode, int runs, String artifact, List<String> command) throws Exception {
+        if (!Files.exists(Path.of(artifact))) {
+            System.out.printf("%-10s %20s %12s%n", mode, "not built", "-");
+            return;
+        }
+        long[] millis = new long[runs];
+        long[] rss = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long started = System.nanoTime();
+            try {
+                awaitFirstRequest(process);
+                millis[i] = Duration.ofNanos(System.nanoTime() - started).toMillis();
+                rss[i] = residentKilobytes(process.pid());
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rss);
+        System.out.printf("%-10s %20d %12.1f%n", mode, millis[runs / 2], rss[runs / 2] / 1024.0);
+    }
+
+    private static void awaitFirstRequest(Process process) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(100)).build();
+        HttpRequest request = HttpRequest.newBuilder(FIRST_REQUEST).GET().build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No successful request within 60 s");
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D+", ""));
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.bookmanagement.cache;
+
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Serialized JSON for single-book responses, bounded by total body size with
+ * Caffeine's W-TinyLFU eviction. Every entry carries the ETag it was built for and is
+ * only served when it matches the book being returned, so an entry written by a reader
+ * that raced with an update is simply replaced. Eviction on writes just frees memory.
+ * Hit ratio comes from the cache.gets meter; only misses are timed, as hits do no work.
+ */
+@Component
+@Slf4j
+public class BookResponseCache implements BookChangeListener {
+
+    private final Cache<Long, CachedBody> bodies;
+    private final ObjectWriter writer;
+    private final Timer serialization;
+
+    public BookResponseCache(ObjectMapper objectMapper, long maxBytes, MeterRegistry registry) {
+        this.writer = objectMapper.writerFor(BookResponse.class);
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, CachedBody body) -> body.bytes().length)
+                .recordStats()
+                .build();
+        this.serialization = Timer.builder("bookmanagement.book.serialization")
+                .description("JSON serialization of a single book response on a cache miss")
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, bodies, "book-response");
+    }
+
+    @Autowired
+    public BookResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${bookmanagement.cache.book-response.max-bytes:67108864}") long maxBytes,
+            ObjectProvider<MeterRegistry> registry) {
+        this(objectMapper, maxBytes, registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public byte[] serialize(BookResponse book, String etag) {
+        CachedBody cached = bodies.getIfPresent(book.getId());
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached.bytes();
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] bytes = writer.writeValueAsBytes(book);
+            serialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            bodies.put(book.getId(), new CachedBody(etag, bytes));
+            return bytes;
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // The cached body for the book at this ETag, or null; lets a hit skip loading the book
+    public byte[] cached(Long id, String etag) {
+        CachedBody cached = bodies.getIfPresent(id);
+        return cached != null && cached.etag().equals(etag) ? cached.bytes() : null;
+    }
+
+    public long size() {
+        return bodies.estimatedSize();
+    }
+
+    @Override
+    public void onSaved(Book previous, Book current) {
+        if (previous != null) {
+            bodies.invalidate(current.getId());
+        }
+    }
+
+    @Override
+    public void onDeleted(Book previous) {
+        bodies.invalidate(previous.getId());
+    }
+
+    private record CachedBody(String etag, byte[] bytes) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.bookmanagement.cache;
+
+import com.company.bookmanagement.exception.ErrorCode;
+import com.company.bookmanagement.exception.ValidationException;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Sparse fieldsets (?fields=id,title) for book responses. A field set is a bit mask over
+ * the BookResponse properties, so there are only 2^8 shapes and each one gets a single
+ * ObjectWriter, built on first use. The property filter drops the other fields while
+ * the bean is serialized; nothing is copied into a map first.
+ */
+@Component
+public class ProjectedBookWriter {
+
+    // BookResponse properties, in bit order of a field mask
+    static final List<String> FIELDS = List.of(
+            "id", "title", "author", "year", "genre", "createdAt", "updatedAt", "version");
+    public static final int ALL_FIELDS = (1 << FIELDS.size()) - 1;
+
+    private static final String FILTER_ID = "bookFields";
+
+    private final ObjectMapper projectingMapper;
+    private final JavaType bookType;
+    private final JavaType listType;
+    private final AtomicReferenceArray<ObjectWriter> bookWriters = new AtomicReferenceArray<>(ALL_FIELDS + 1);
+    private final AtomicReferenceArray<ObjectWriter> listWriters = new AtomicReferenceArray<>(ALL_FIELDS + 1);
+
+    public ProjectedBookWriter(ObjectMapper objectMapper) {
+        // A copy, so the filter never applies to responses serialized by Spring's converters
+        this.projectingMapper = objectMapper.copy().addMixIn(BookResponse.class, FilteredBook.class);
+        this.bookType = projectingMapper.constructType(BookResponse.class);
+        this.listType = projectingMapper.getTypeFactory().constructCollectionType(List.class, BookResponse.class);
+    }
+
+    // Null or blank means every field; unknown names are rejected rather than ignored
+    public static int parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        int mask = 0;
+        for (String field : fields.split(",")) {
+            int bit = FIELDS.indexOf(field.trim());
+            if (bit < 0) {
+                throw new ValidationException(
+                        ErrorCode.INVALID_QUERY_PARAMETER,
+                        Map.of("fields", String.format("Unknown field '%s', expected any of %s",
+                                field.trim(), String.join(",", FIELDS)))
+                );
+            }
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    public byte[] write(BookResponse book, int fields) {
+        return write(writer(bookWriters, bookType, fields), book);
+    }
+
+    public byte[] writeList(List<BookResponse> books, int fields) {
+        return write(writer(listWriters, listType, fields), books);
+    }
+
+    private static byte[] write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Racing first uses may both build a writer; they are equivalent and one is kept
+    private ObjectWriter writer(AtomicReferenceArray<ObjectWriter> writers, JavaType type, int fields) {
+        ObjectWriter writer = writers.get(fields);
+        if (writer == null) {
+            Set<String> names = new HashSet<>();
+            for (int bit = 0; bit < FIELDS.size(); bit++) {
+                if ((fields & (1 << bit)) != 0) {
+                    names.add(FIELDS.get(bit));
+                }
+            }
+            writer = projectingMapper.writerFor(type).with(new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+            if (!writers.compareAndSet(fields, null, writer)) {
+                writer = writers.get(fields);
+            }
+        }
+        return writer;
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface FilteredBook {
+    }
+}
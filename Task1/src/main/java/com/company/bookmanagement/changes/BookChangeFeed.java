@@ -0,0 +1,157 @@
+package com.company.bookmanagement.changes;
+
+import com.company.bookmanagement.exception.ChangeFeedBusyException;
+import com.company.bookmanagement.model.dto.response.BookChangeEvent;
+import com.company.bookmanagement.model.dto.response.BookChangeType;
+import com.company.bookmanagement.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Streams the change log to one consumer as server-sent events or NDJSON. Each stream
+ * runs on its own virtual thread from the feed's executor, not on the MVC async pool:
+ * a subscriber spends most of its time waiting for the next change, and on the shared
+ * pool a handful of idle subscribers would hold up every other streamed response. At
+ * most max-subscribers streams run at once; beyond that requests get a 503. Streams
+ * only read the log, so however slowly the client drains its socket, writers are
+ * unaffected. Streams end after max-stream-duration and clients reconnect with the
+ * last token. An SSE comment goes out while idle so dead connections close.
+ */
+@Component
+public class BookChangeFeed {
+
+    private static final byte[] SSE_HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final BookChangeLog changeLog;
+    private final ObjectWriter writer;
+    private final long heartbeatMillis;
+    private final long maxStreamMillis;
+    private final int maxSubscribers;
+    private final Semaphore subscribers;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("book-change-feed-", 0).factory());
+
+    public BookChangeFeed(
+            BookChangeLog changeLog,
+            ObjectMapper objectMapper,
+            @Value("${bookmanagement.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${bookmanagement.changes.max-stream-duration:5m}") Duration maxStreamDuration,
+            @Value("${bookmanagement.changes.max-subscribers:256}") int maxSubscribers) {
+        this.changeLog = changeLog;
+        this.writer = objectMapper.writerFor(BookChangeEvent.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.maxStreamMillis = maxStreamDuration.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.subscribers = new Semaphore(maxSubscribers);
+    }
+
+    // Null token: only changes made from now on
+    public ResponseBodyEmitter stream(String token, boolean serverSentEvents) {
+        long start = token == null ? changeLog.head() : changeLog.positionOf(token);
+        if (!subscribers.tryAcquire()) {
+            throw new ChangeFeedBusyException(maxSubscribers);
+        }
+        // A little longer than a stream lasts, so streams end on their own rather than time out
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(maxStreamMillis + heartbeatMillis);
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(ex -> open.set(false));
+        MediaType mediaType = serverSentEvents ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON;
+        try {
+            executor.execute(() -> {
+                try {
+                    follow(emitter, open, start, serverSentEvents, mediaType);
+                    emitter.complete();
+                } catch (IOException | IllegalStateException ex) {
+                    // The client went away or the emitter timed out; nothing left to write to
+                    emitter.completeWithError(ex);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    emitter.complete();
+                } finally {
+                    subscribers.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            subscribers.release();
+            throw new ChangeFeedBusyException(maxSubscribers);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void close() {
+        // Interrupts waiting streams so shutdown is not held up for max-stream-duration
+        executor.shutdownNow();
+    }
+
+    private void follow(ResponseBodyEmitter emitter, AtomicBoolean open, long start, boolean serverSentEvents,
+                        MediaType mediaType) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + maxStreamMillis;
+        long position = start;
+        List<BookChangeEvent> events = new ArrayList<>(Constants.STREAM_CHUNK_SIZE);
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(8192);
+        while (open.get() && System.currentTimeMillis() < deadline) {
+            if (!changeLog.readAfter(position, events, Constants.STREAM_CHUNK_SIZE)) {
+                write(chunk, BookChangeEvent.builder().type(BookChangeType.RESET).build(), serverSentEvents);
+                emitter.send(chunk.toByteArray(), mediaType);
+                return;
+            }
+            if (!events.isEmpty()) {
+                for (BookChangeEvent event : events) {
+                    write(chunk, event, serverSentEvents);
+                }
+                // readAfter returns an unbroken run starting right after position
+                position += events.size();
+                events.clear();
+                // One send, and so one flush, per chunk
+                emitter.send(chunk.toByteArray(), mediaType);
+                chunk.reset();
+                continue;
+            }
+            changeLog.awaitAfter(position, Math.min(heartbeatMillis, deadline - System.currentTimeMillis()));
+            if (changeLog.head() == position && serverSentEvents) {
+                emitter.send(SSE_HEARTBEAT, mediaType);
+            }
+        }
+    }
+
+    private void write(OutputStream out, BookChangeEvent event, boolean serverSentEvents) throws IOException {
+        byte[] json = writer.writeValueAsBytes(event);
+        if (serverSentEvents) {
+            StringBuilder header = new StringBuilder(64);
+            if (event.getToken() != null) {
+                header.append("id: ").append(event.getToken()).append('\n');
+            }
+            header.append("event: ").append(event.getType().name().toLowerCase()).append('\n').append("data: ");
+            out.write(header.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(json);
+            out.write('\n');
+            out.write('\n');
+        } else {
+            out.write(json);
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.company.bookmanagement.changes;
+
+import com.company.bookmanagement.exception.ChangeFeedExpiredException;
+import com.company.bookmanagement.exception.ErrorCode;
+import com.company.bookmanagement.exception.ValidationException;
+import com.company.bookmanagement.mapper.BookMapper;
+import com.company.bookmanagement.model.dto.response.BookChangeEvent;
+import com.company.bookmanagement.model.dto.response.BookChangeType;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory log of book writes, numbered by a monotonic sequence.
+ * <p>
+ * Writers claim a sequence number and store the change in its ring slot; they never
+ * wait for readers, so a slow consumer is overrun instead of holding anyone up. Each
+ * reader walks the slots after its own position: a slot still holding an older change
+ * is not published yet, a slot holding a newer one means the reader was overrun and
+ * must start over from a full read. Resume tokens carry an epoch that changes on every
+ * start, since sequence numbers do not survive a restart.
+ */
+@Component
+public class BookChangeLog implements BookChangeListener {
+
+    private final BookMapper bookMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReferenceArray<Change> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    // Completed and replaced on every append, to wake readers waiting for the next change
+    private final AtomicReference<CompletableFuture<Void>> appended = new AtomicReference<>(new CompletableFuture<>());
+
+    public BookChangeLog(BookMapper bookMapper,
+                         @Value("${bookmanagement.changes.capacity:65536}") int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Change log capacity must be a power of two: " + capacity);
+        }
+        this.bookMapper = bookMapper;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void onSaved(Book previous, Book current) {
+        append(BookChangeType.SAVED, current);
+    }
+
+    @Override
+    public void onDeleted(Book previous) {
+        append(BookChangeType.DELETED, previous);
+    }
+
+    // Sequence of the last change handed out, the position to start from for new changes only
+    public long head() {
+        return sequence.get();
+    }
+
+    /**
+     * Position after the change a resume token names. Tokens from another run, or for
+     * changes that are no longer retained, are rejected as expired.
+     */
+    public long positionOf(String token) {
+        int separator = token.lastIndexOf('-');
+        long position;
+        try {
+            position = Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new ValidationException(
+                    ErrorCode.INVALID_QUERY_PARAMETER,
+                    Map.of("after", "after must be a token from the change feed")
+            );
+        }
+        if (separator < 0 || !token.substring(0, separator).equals(epoch)
+                || position > head() || position < head() - slots.length()) {
+            throw new ChangeFeedExpiredException(token);
+        }
+        return position;
+    }
+
+    /**
+     * Adds up to max published changes after position to events, in order. Returns false
+     * if the changes right after position have already been overwritten.
+     */
+    public boolean readAfter(long position, List<BookChangeEvent> events, int max) {
+        for (long next = position + 1; next <= head() && events.size() < max; next++) {
+            Change change = slots.get((int) (next & mask));
+            if (change == null || change.sequence() < next) {
+                // Claimed but not stored yet; later slots wait for it to keep the order
+                break;
+            }
+            if (change.sequence() > next) {
+                return false;
+            }
+            events.add(toEvent(change));
+        }
+        return true;
+    }
+
+    // Returns once a change after position was appended or the timeout passed
+    public void awaitAfter(long position, long timeoutMillis) throws InterruptedException {
+        CompletableFuture<Void> next = appended.get();
+        if (head() > position) {
+            return;
+        }
+        try {
+            next.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // Nothing new; the caller decides whether to keep waiting
+        }
+    }
+
+    public String tokenOf(long position) {
+        return epoch + "-" + position;
+    }
+
+    private void append(BookChangeType type, Book book) {
+        long next = sequence.incrementAndGet();
+        Change change = new Change(next, type, book);
+        int slot = (int) (next & mask);
+        // Only ever replace an older change: a writer preempted after claiming its sequence
+        // may find the ring has wrapped, and then its change is already overrun for readers
+        Change current;
+        do {
+            current = slots.get(slot);
+            if (current != null && current.sequence() > next) {
+                break;
+            }
+        } while (!slots.compareAndSet(slot, current, change));
+        appended.getAndSet(new CompletableFuture<>()).complete(null);
+    }
+
+    private BookChangeEvent toEvent(Change change) {
+        Book book = change.book();
+        return BookChangeEvent.builder()
+                .token(tokenOf(change.sequence()))
+                .type(change.type())
+                .id(book.getId())
+                .version(book.getVersion())
+                .book(change.type() == BookChangeType.SAVED ? bookMapper.toResponse(book) : null)
+                .build();
+    }
+
+    private record Change(long sequence, BookChangeType type, Book book) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.bookmanagement.config;
+
+import com.company.bookmanagement.repository.id.BlockIdAllocator;
+import com.company.bookmanagement.repository.id.BookIdAllocator;
+import com.company.bookmanagement.repository.id.SequentialIdAllocator;
+import com.company.bookmanagement.repository.id.SnowflakeIdAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ID scheme for the in-memory repositories; the offheap store always uses sequential IDs
+@Configuration
+public class IdAllocationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmanagement.ids", name = "strategy", havingValue = "sequential", matchIfMissing = true)
+    public BookIdAllocator sequentialIdAllocator() {
+        return new SequentialIdAllocator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmanagement.ids", name = "strategy", havingValue = "block")
+    public BookIdAllocator blockIdAllocator(
+            @Value("${bookmanagement.ids.block-size:1024}") int blockSize,
+            @Value("${bookmanagement.ids.node-id:0}") int nodeId,
+            @Value("${bookmanagement.ids.node-count:1}") int nodeCount) {
+        return new BlockIdAllocator(blockSize, nodeId, nodeCount);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmanagement.ids", name = "strategy", havingValue = "snowflake")
+    public BookIdAllocator snowflakeIdAllocator(@Value("${bookmanagement.ids.node-id:0}") int nodeId) {
+        return new SnowflakeIdAllocator(nodeId);
+    }
+}
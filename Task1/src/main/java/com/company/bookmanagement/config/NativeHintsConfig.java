@@ -0,0 +1,52 @@
+package com.company.bookmanagement.config;
+
+import com.company.bookmanagement.exception.ErrorCode;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBookItem;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBooksRequest;
+import com.company.bookmanagement.model.dto.request.CreateBookRequest;
+import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.ApiResponse;
+import com.company.bookmanagement.model.dto.response.BatchItemResult;
+import com.company.bookmanagement.model.dto.response.BatchItemStatus;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookChangeEvent;
+import com.company.bookmanagement.model.dto.response.BookChangeType;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
+import com.company.bookmanagement.model.dto.response.ErrorResponse;
+import com.company.bookmanagement.model.dto.response.ImportError;
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Reflection hints for the AOT/native build. Spring infers hints for the top-level
+ * @RequestBody and return types of controllers, but not for types that only appear
+ * nested, in generic collections, in the exception handler or in the import reader.
+ * Lombok and MapStruct generate plain code at compile time and need nothing here.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({
+        CreateBookRequest.class,
+        UpdateBookRequest.class,
+        BatchCreateBooksRequest.class,
+        BatchUpdateBooksRequest.class,
+        BatchUpdateBookItem.class,
+        BatchDeleteBooksRequest.class,
+        BookResponse.class,
+        BookChangeEvent.class,
+        BookChangeType.class,
+        CatalogStats.class,
+        ApiResponse.class,
+        BatchResponse.class,
+        BatchItemResult.class,
+        BatchItemStatus.class,
+        ErrorResponse.class,
+        ImportSummary.class,
+        ImportError.class,
+        ErrorCode.class
+})
+public class NativeHintsConfig {
+}
@@ -0,0 +1,25 @@
+package com.company.bookmanagement.config;
+
+import com.company.bookmanagement.repository.persistence.FileBookJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@Profile("!offheap")
+@ConditionalOnProperty(prefix = "bookmanagement.persistence", name = "enabled", havingValue = "true")
+public class PersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    public FileBookJournal bookJournal(
+            @Value("${bookmanagement.persistence.directory:data}") Path directory,
+            @Value("${bookmanagement.persistence.max-batch-size:1024}") int maxBatchSize,
+            @Value("${bookmanagement.persistence.snapshot-interval:10m}") Duration snapshotInterval) {
+        return new FileBookJournal(directory, maxBatchSize, snapshotInterval);
+    }
+}
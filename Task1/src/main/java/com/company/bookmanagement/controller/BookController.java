@@ -1,11 +1,32 @@
 package com.company.bookmanagement.controller;
 
+import com.company.bookmanagement.cache.BookResponseCache;
+import com.company.bookmanagement.cache.ProjectedBookWriter;
+import com.company.bookmanagement.changes.BookChangeFeed;
+import com.company.bookmanagement.idempotency.IdempotencyStore;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
 import com.company.bookmanagement.model.dto.response.ApiResponse;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookPage;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
 import com.company.bookmanagement.model.dto.response.ErrorResponse;
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+import com.company.bookmanagement.service.BookImportService;
 import com.company.bookmanagement.service.BookService;
+import com.company.bookmanagement.util.Constants;
+import com.company.bookmanagement.util.ETagUtil;
+import com.company.bookmanagement.util.ValidationUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,11 +37,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -31,10 +60,22 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookResponseCache bookResponseCache;
+    private final ProjectedBookWriter projectedBookWriter;
+    private final BookChangeFeed bookChangeFeed;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    // In order of preference when the client accepts several equally
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE));
 
     @PostMapping(
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
     )
     @Operation(
             summary = "Create a new book",
@@ -71,53 +112,286 @@ public class BookController {
                                     """
                             )
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key was already used with a different request body",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     public ResponseEntity<BookResponse> createBook(
+            @Parameter(description = "Client-chosen key; retries with the same key and body return the "
+                    + "book created by the first attempt instead of creating another")
+            @RequestHeader(name = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateBookRequest request) {
 
-        log.info("POST /api/books - Creating book: {}", request.getTitle());
-
-        BookResponse createdBook = bookService.createBook(request);
-
-        log.info("Book created with ID: {}", createdBook.getId());
+        if (idempotencyKey == null) {
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(bookService.createBook(request));
+        }
 
+        IdempotencyStore.Outcome outcome = idempotencyStore.execute(
+                idempotencyKey, request, () -> bookService.createBook(request));
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(createdBook);
+                .header(Constants.IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
     }
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE})
     @Operation(
             summary = "Get all books",
-            description = "Returns a list of all books in the system. Returns empty array if no books exist."
+            description = "Returns one page of books ordered by ID, optionally filtered by author, genre "
+                    + "and publication year range. Pass the value of the X-Next-Cursor response header as "
+                    + "'after' to fetch the next page. Use 'fields' to return only some fields of each book; "
+                    + "field selection is only available for JSON. Returns empty array if no books match."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
-                    description = "Successfully retrieved all books",
+                    description = "Successfully retrieved a page of books",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = BookResponse.class)
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid page size or year range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
-        log.info("GET /api/books - Fetching all books");
+    public ResponseEntity<?> getAllBooks(
+            @Parameter(description = "Only return books by this author (case-insensitive)", example = "George Orwell")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Only return books of this genre (case-insensitive)", example = "Fiction")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Only return books published in or after this year", example = "1900")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Only return books published in or before this year", example = "1950")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "Only return books with an ID greater than this cursor", example = "100")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of books to return (1-1000)", example = "100")
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to include; all fields when omitted", example = "id,title")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        List<BookResponse> books = bookService.getAllBooks();
+        ValidationUtil.validatePageSize(limit);
+        ValidationUtil.validateYearRange(yearFrom, yearTo);
+        int fieldMask = ProjectedBookWriter.parseFields(fields);
+        BookFilter filter = new BookFilter(author, genre, yearFrom, yearTo);
+        BookPage page = bookService.getBooks(filter, after, limit);
 
-        log.info("Returning {} books", books.size());
+        MediaType mediaType = negotiate(accept);
+        if (!mediaType.equals(MediaType.APPLICATION_JSON)) {
+            return pageResponse(page, limit).contentType(mediaType).body(page.getItems());
+        }
+        return pageResponse(page, limit)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(projectedBookWriter.writeList(page.getItems(), fieldMask));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream all books",
+            description = "Streams every book ordered by ID as newline-delimited JSON, one book per line. "
+                    + "Books are read and written in chunks, so memory use does not grow with the catalog size."
+    )
+    public ResponseEntity<StreamingResponseBody> streamAllBooks(
+            @Parameter(description = "Only return books by this author (case-insensitive)", example = "George Orwell")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Only return books of this genre (case-insensitive)", example = "Fiction")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Only return books published in or after this year", example = "1900")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Only return books published in or before this year", example = "1950")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "Only stream books with an ID greater than this cursor", example = "100")
+            @RequestParam(required = false) Long after) {
 
-        return ResponseEntity.ok(books);
+        ValidationUtil.validateYearRange(yearFrom, yearTo);
+        BookFilter filter = new BookFilter(author, genre, yearFrom, yearTo);
+
+        ObjectWriter writer = objectMapper.writerFor(BookResponse.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                Long cursor = after;
+                do {
+                    BookPage page = bookService.getBooks(filter, cursor, Constants.STREAM_CHUNK_SIZE);
+                    for (BookResponse book : page.getItems()) {
+                        writer.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
+
+    @GetMapping(
+            value = "/changes",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(
+            summary = "Follow book changes (server-sent events)",
+            description = "Streams every save and delete as it happens, one event per change with the resume "
+                    + "token as its ID. Reconnect with Last-Event-ID to continue without gaps; without it only "
+                    + "changes from now on are sent. A 'reset' event or 410 Gone means the position is no "
+                    + "longer retained: re-read the catalog and follow the feed from now."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of change events"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Resume token too old or from before a restart",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Too many open change streams",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ResponseBodyEmitter> streamChangeEvents(
+            @Parameter(description = "Token of the last change received", example = "lx3k9a2f-42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Same as Last-Event-ID, for clients that cannot set headers", example = "lx3k9a2f-42")
+            @RequestParam(required = false) String after) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(bookChangeFeed.stream(lastEventId != null ? lastEventId : after, true));
+    }
+
+    @GetMapping(
+            value = "/changes",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(
+            summary = "Follow book changes (NDJSON)",
+            description = "Same feed as the server-sent events variant, one JSON change per line. Pass the "
+                    + "token of the last line received as 'after' to resume."
+    )
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @Parameter(description = "Token of the last change received", example = "lx3k9a2f-42")
+            @RequestParam(required = false) String after) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .body(bookChangeFeed.stream(after, false));
+    }
+
+    @GetMapping(
+            value = "/stats",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Get catalog statistics",
+            description = "Returns book counts by genre, author, decade and publication year. The counts are "
+                    + "maintained on every write, so this does not scan the catalog unless 'recompute' is set."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Current statistics",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CatalogStats.class)
+                    )
+            )
+    })
+    public ResponseEntity<CatalogStats> getStats(
+            @Parameter(description = "Count the whole catalog instead of reading the maintained counters")
+            @RequestParam(defaultValue = "false") boolean recompute) {
+
+        return ResponseEntity.ok(bookService.getStats(recompute));
+    }
+
+    @GetMapping(
+            value = "/search",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Search books",
+            description = "Full-text search over title and author. Every word must match; the last word also "
+                    + "matches as a prefix. Results are ranked with title matches ahead of author matches. "
+                    + "When a query is too broad to score every match, only part of the matches are ranked "
+                    + "and the response carries X-Search-Truncated: true; a more specific query gives exact results."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Matching books, best match first",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BookResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Missing query or invalid limit",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<List<BookResponse>> searchBooks(
+            @Parameter(description = "Search text", required = true, example = "great gats")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Maximum number of results (1-1000)", example = "20")
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_SEARCH_LIMIT) int limit) {
+
+        ValidationUtil.validateNotBlank(q, "q");
+        ValidationUtil.validatePageSize(limit);
+        BookSearchResult result = bookService.searchBooks(q, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.isTruncated()) {
+            response.header(Constants.SEARCH_TRUNCATED_HEADER, "true");
+        }
+        return response.body(result.getItems());
+    }
+
     @GetMapping(
             value = "/{id}",
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
     )
     @Operation(
             summary = "Get book by ID",
-            description = "Returns a single book by its ID"
+            description = "Returns a single book by its ID, limited to the requested fields if 'fields' is given "
+                    + "(JSON only). "
+                    + "The response carries a strong ETag; send it back in If-None-Match to get 304 Not Modified "
+                    + "while the book is unchanged."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -128,6 +402,10 @@ public class BookController {
                             schema = @Schema(implementation = BookResponse.class)
                     )
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Book unchanged since the ETag in If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Book not found",
@@ -157,27 +435,52 @@ public class BookController {
                     )
             )
     })
-    public ResponseEntity<BookResponse> getBookById(
+    public ResponseEntity<?> getBookById(
             @Parameter(description = "ID of the book to retrieve", required = true, example = "1")
-            @PathVariable Long id) {
-
-        log.info("GET /api/books/{} - Fetching book", id);
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to include; all fields when omitted", example = "id,title")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
 
-        BookResponse book = bookService.getBookById(id);
+        int fieldMask = ProjectedBookWriter.parseFields(fields);
+        // Revalidation needs only the version, so a 304 never loads or maps the book
+        String etag = ETagUtil.etagOf(id, bookService.getBookVersion(id));
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Book {} not modified", id);
+            return null;
+        }
 
-        log.info("Found book: {}", book.getTitle());
+        MediaType mediaType = negotiate(accept);
+        boolean fullJson = mediaType.equals(MediaType.APPLICATION_JSON) && fieldMask == ProjectedBookWriter.ALL_FIELDS;
+        byte[] cached = fullJson ? bookResponseCache.cached(id, etag) : null;
+        if (cached != null) {
+            return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(cached);
+        }
 
-        return ResponseEntity.ok(book);
+        // The book may have changed since the version was read; answer with what was loaded
+        BookResponse book = bookService.getBookById(id);
+        etag = ETagUtil.etagOf(book.getId(), book.getVersion());
+        if (!mediaType.equals(MediaType.APPLICATION_JSON)) {
+            return ResponseEntity.ok().eTag(etag).contentType(mediaType).body(book);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(fieldMask == ProjectedBookWriter.ALL_FIELDS
+                        ? bookResponseCache.serialize(book, etag)
+                        : projectedBookWriter.write(book, fieldMask));
     }
 
     @PutMapping(
             value = "/{id}",
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
     )
     @Operation(
             summary = "Update a book",
-            description = "Updates an existing book. Only provided fields will be updated."
+            description = "Updates an existing book. Only provided fields will be updated. " +
+                    "Send the book's ETag in If-Match to update only if nobody changed it in the meantime."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -203,29 +506,38 @@ public class BookController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "Book no longer matches the ETag in If-Match",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     public ResponseEntity<BookResponse> updateBook(
             @Parameter(description = "ID of the book to update", required = true, example = "1")
             @PathVariable Long id,
-            @Valid @RequestBody UpdateBookRequest request) {
-
-        log.info("PUT /api/books/{} - Updating book", id);
-
-        BookResponse updatedBook = bookService.updateBook(id, request);
+            @Valid @RequestBody UpdateBookRequest request,
+            @Parameter(description = "ETag the book must still have", example = "\"1-3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        log.info("Book updated: {}", updatedBook.getId());
+        BookResponse updatedBook = bookService.updateBook(id, request, ETagUtil.expectedVersion(ifMatch, id));
 
-        return ResponseEntity.ok(updatedBook);
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.etagOf(updatedBook.getId(), updatedBook.getVersion()))
+                .body(updatedBook);
     }
 
     @DeleteMapping(
             value = "/{id}",
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
     )
     @Operation(
             summary = "Delete a book",
-            description = "Deletes a book by ID. Returns the deleted book data."
+            description = "Deletes a book by ID. Returns the deleted book data. " +
+                    "Send the book's ETag in If-Match to delete only that version."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -243,18 +555,198 @@ public class BookController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "Book no longer matches the ETag in If-Match",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     public ResponseEntity<BookResponse> deleteBook(
             @Parameter(description = "ID of the book to delete", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "ETag the book must still have", example = "\"1-3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        BookResponse deletedBook = bookService.deleteBook(id, ETagUtil.expectedVersion(ifMatch, id));
 
-        log.info("DELETE /api/books/{} - Deleting book", id);
+        return ResponseEntity.ok(deletedBook);
+    }
 
-        BookResponse deletedBook = bookService.deleteBook(id);
+    @PostMapping(
+            value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Create many books",
+            description = "Creates up to 10000 books in one request. Each item is validated on its own; "
+                    + "invalid items are reported in the per-item results and the rest are created."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Batch is empty or too large",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<BatchResponse> createBooks(
+            @Valid @RequestBody BatchCreateBooksRequest request) {
 
-        log.info("Book deleted: {}", id);
+        return ResponseEntity.ok(bookService.createBooks(request));
+    }
 
-        return ResponseEntity.ok(deletedBook);
+    @PutMapping(
+            value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Update many books",
+            description = "Applies up to 10000 partial updates in one request. Unknown IDs and invalid "
+                    + "changes are reported in the per-item results."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Batch is empty or too large",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<BatchResponse> updateBooks(
+            @Valid @RequestBody BatchUpdateBooksRequest request) {
+
+        return ResponseEntity.ok(bookService.updateBooks(request));
+    }
+
+    @DeleteMapping(
+            value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Delete many books",
+            description = "Deletes up to 10000 books by ID in one request. Unknown IDs are reported as NOT_FOUND."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Batch is empty or too large",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<BatchResponse> deleteBooks(
+            @Valid @RequestBody BatchDeleteBooksRequest request) {
+
+        return ResponseEntity.ok(bookService.deleteBooks(request));
+    }
+
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, Constants.TEXT_CSV_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constants.APPLICATION_SMILE_VALUE}
+    )
+    @Operation(
+            summary = "Import a book catalog",
+            description = "Streams books from an NDJSON body (one object per line) or a CSV body with a " +
+                    "title,author,year,genre header. Records are validated one by one and stored in chunks; " +
+                    "the body is never loaded into memory as a whole."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed, see the summary for rejected records",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportSummary.class)
+                    )
+            )
+    })
+    public ResponseEntity<ImportSummary> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+
+        BookImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(Constants.TEXT_CSV_VALUE))
+                ? BookImportService.Format.CSV
+                : BookImportService.Format.NDJSON;
+
+        return ResponseEntity.ok(bookImportService.importBooks(body, format));
+    }
+
+    /*
+     * The encoding to answer in among JSON, CBOR and Smile: the one the client accepts with
+     * the highest quality, JSON on a tie. No Accept header, or a wildcard, means JSON; the
+     * mapping's produces condition has already turned away clients that accept none of them.
+     */
+    private static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = -1;
+        for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+            MediaType candidate = null;
+            for (MediaType supported : SUPPORTED_MEDIA_TYPES) {
+                if (accepted.includes(supported)) {
+                    candidate = supported;
+                    break;
+                }
+            }
+            if (candidate != null && accepted.getQualityValue() > bestQuality) {
+                best = candidate;
+                bestQuality = accepted.getQualityValue();
+            }
+        }
+        return best;
+    }
+
+    // Adds the cursor headers when another page follows
+    private ResponseEntity.BodyBuilder pageResponse(BookPage page, int limit) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .replaceQueryParam("limit", limit)
+                    .toUriString();
+            response.header(Constants.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()))
+                    .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.company.bookmanagement.exception;
+
+public class BookPreconditionFailedException extends BaseException {
+
+    public BookPreconditionFailedException(Long id, Long currentVersion) {
+        super(ErrorCode.BOOK_PRECONDITION_FAILED, "Book with ID " + id + " is at version " + currentVersion);
+    }
+}
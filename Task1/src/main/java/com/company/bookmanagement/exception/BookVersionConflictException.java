@@ -0,0 +1,9 @@
+package com.company.bookmanagement.exception;
+
+public class BookVersionConflictException extends BaseException {
+
+    public BookVersionConflictException(Long id, Long expectedVersion, Long actualVersion) {
+        super(ErrorCode.BOOK_VERSION_CONFLICT, "Book with ID " + id + " is at version " + actualVersion
+                + ", expected " + expectedVersion);
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.bookmanagement.exception;
+
+public class ChangeFeedBusyException extends BaseException {
+
+    public ChangeFeedBusyException(int maxSubscribers) {
+        super(ErrorCode.CHANGE_FEED_BUSY, "All " + maxSubscribers + " change feed streams are in use; retry later");
+    }
+}
@@ -0,0 +1,9 @@
+package com.company.bookmanagement.exception;
+
+public class ChangeFeedExpiredException extends BaseException {
+
+    public ChangeFeedExpiredException(String token) {
+        super(ErrorCode.CHANGE_FEED_EXPIRED, "Resume token " + token + " is from another run or too old; "
+                + "re-read the catalog and follow the feed from now");
+    }
+}
@@ -15,6 +15,26 @@ public enum ErrorCode {
             HttpStatus.CONFLICT,
             "Book already exists with this ID"
     ),
+    BOOK_VERSION_CONFLICT(
+            "BOOK-003",
+            HttpStatus.CONFLICT,
+            "Book was modified by another request"
+    ),
+    BOOK_PRECONDITION_FAILED(
+            "BOOK-004",
+            HttpStatus.PRECONDITION_FAILED,
+            "Book does not match the version in If-Match"
+    ),
+    CHANGE_FEED_EXPIRED(
+            "BOOK-005",
+            HttpStatus.GONE,
+            "Change feed position is no longer available"
+    ),
+    IDEMPOTENCY_KEY_REUSED(
+            "BOOK-006",
+            HttpStatus.UNPROCESSABLE_ENTITY,
+            "Idempotency key was already used for a different request"
+    ),
     VALIDATION_ERROR(
             "VAL-001",
             HttpStatus.BAD_REQUEST,
@@ -50,6 +70,11 @@ public enum ErrorCode {
             HttpStatus.BAD_REQUEST,
             "Invalid path parameter"
     ),
+    INVALID_QUERY_PARAMETER(
+            "VAL-008",
+            HttpStatus.BAD_REQUEST,
+            "Invalid query parameter"
+    ),
     INTERNAL_SERVER_ERROR(
             "SYS-001",
             HttpStatus.INTERNAL_SERVER_ERROR,
@@ -59,6 +84,16 @@ public enum ErrorCode {
             "SYS-002",
             HttpStatus.NOT_IMPLEMENTED,
             "Resource type not supported"
+    ),
+    STORAGE_UNAVAILABLE(
+            "SYS-003",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Change could not be written to durable storage"
+    ),
+    CHANGE_FEED_BUSY(
+            "SYS-004",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many change feed subscribers"
     );
     private final String code;
     private final HttpStatus httpStatus;
@@ -0,0 +1,8 @@
+package com.company.bookmanagement.exception;
+
+public class IdempotencyKeyReusedException extends BaseException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super(ErrorCode.IDEMPOTENCY_KEY_REUSED, "Idempotency key " + key + " was sent with a different request body");
+    }
+}
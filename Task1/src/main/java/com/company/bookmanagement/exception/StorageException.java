@@ -0,0 +1,8 @@
+package com.company.bookmanagement.exception;
+
+public class StorageException extends BaseException {
+
+    public StorageException(Throwable cause) {
+        super(ErrorCode.STORAGE_UNAVAILABLE, cause);
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.bookmanagement.idempotency;
+
+import com.company.bookmanagement.exception.ErrorCode;
+import com.company.bookmanagement.exception.IdempotencyKeyReusedException;
+import com.company.bookmanagement.exception.ValidationException;
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.util.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/*
+ * Results of creates sent with an Idempotency-Key header, so a client retrying after a
+ * timeout gets the book its first attempt created instead of a second copy. Keys are
+ * bounded in number and age. The first request for a key stores a future before doing
+ * the work; duplicates that arrive meanwhile wait on that future, so however many
+ * retries race, the create runs once. Failed attempts are forgotten and may be retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(Duration ttl, long maxKeys, MeterRegistry registry) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxKeys)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency-keys");
+    }
+
+    @Autowired
+    public IdempotencyStore(
+            @Value("${bookmanagement.idempotency.ttl:24h}") Duration ttl,
+            @Value("${bookmanagement.idempotency.max-keys:100000}") long maxKeys,
+            ObjectProvider<MeterRegistry> registry) {
+        this(ttl, maxKeys, registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Runs create unless a request with the same key already did, in which case its
+     * response is returned. Reusing a key for a different request is rejected.
+     */
+    public Outcome execute(String key, Object request, Supplier<BookResponse> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(
+                    ErrorCode.VALIDATION_ERROR,
+                    Map.of(Constants.IDEMPOTENCY_KEY_HEADER, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters")
+            );
+        }
+        Entry mine = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            try {
+                return new Outcome(existing.response().join(), true);
+            } catch (CompletionException ex) {
+                // The first attempt failed; its error applies to this identical request too
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            BookResponse response = create.get();
+            mine.response().complete(response);
+            return new Outcome(response, false);
+        } catch (RuntimeException | Error ex) {
+            // Waiting duplicates must never be left hanging
+            entries.asMap().remove(key, mine);
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public record Outcome(BookResponse response, boolean replayed) {
+    }
+
+    private record Entry(Object request, CompletableFuture<BookResponse> response) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.bookmanagement.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * One access-log record per API request, in place of the per-step INFO lines the
+ * controller and service used to write. Successful reads can be sampled since they are
+ * the bulk of the traffic; writes, errors and slow requests are always logged. The
+ * record is a fixed set of key=value pairs so it is built only when it is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "bookmanagement.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double readSampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(
+            @Value("${bookmanagement.access-log.read-sample-rate:1.0}") double readSampleRate,
+            @Value("${bookmanagement.access-log.slow-threshold-ms:500}") long slowThresholdMillis) {
+        this.readSampleRate = readSampleRate;
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLog.isInfoEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streamed listings finish on another thread; log once the body is written
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long start) {
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatus();
+        if (isSampledOut(request.getMethod(), status, elapsed)) {
+            return;
+        }
+        accessLog.info("method={} path={} query={} status={} durationMicros={}",
+                request.getMethod(), request.getRequestURI(), request.getQueryString(), status, elapsed / 1000);
+    }
+
+    boolean isSampledOut(String method, int status, long elapsedNanos) {
+        if (readSampleRate >= 1.0 || !"GET".equals(method) || status >= 400 || elapsedNanos >= slowThresholdNanos) {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextDouble() >= readSampleRate;
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.bookmanagement.metrics;
+
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import com.company.bookmanagement.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Repository gauges. Gauges are sampled at scrape time, so the write path only pays
+ * for keeping the byte estimate current. The repository is looked up lazily because
+ * it depends on this listener.
+ */
+@Component
+public class BookMetrics implements BookChangeListener, MeterBinder {
+    // Book, its boxed fields and timestamps, the map entry and index postings; measured
+    // with the benchmarks module's FootprintReport, strings excluded
+    static final long FIXED_BYTES_PER_BOOK = 240;
+    // String header plus backing array header, for Latin-1 compact strings
+    static final long BYTES_PER_STRING = 40;
+
+    private final ObjectProvider<BookRepository> repository;
+    private final LongAdder estimatedBytes = new LongAdder();
+
+    public BookMetrics(ObjectProvider<BookRepository> repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bookmanagement.books.count", repository, books -> books.getObject().count())
+                .description("Books currently stored")
+                .register(registry);
+        Gauge.builder("bookmanagement.books.estimated.size", estimatedBytes, LongAdder::sum)
+                .description("Estimated memory held by stored books")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("bookmanagement.books.last.issued.id", repository, books -> books.getObject().lastIssuedId())
+                .description("Highest book ID issued so far")
+                .register(registry);
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes.sum();
+    }
+
+    @Override
+    public void onSaved(Book previous, Book current) {
+        estimatedBytes.add(estimate(current) - (previous == null ? 0 : estimate(previous)));
+    }
+
+    @Override
+    public void onDeleted(Book previous) {
+        estimatedBytes.add(-estimate(previous));
+    }
+
+    static long estimate(Book book) {
+        return FIXED_BYTES_PER_BOOK + estimate(book.getTitle()) + estimate(book.getAuthor()) + estimate(book.getGenre());
+    }
+
+    private static long estimate(String value) {
+        return value == null ? 0 : BYTES_PER_STRING + value.length();
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.bookmanagement.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for creating many books at once")
+public class BatchCreateBooksRequest {
+    // Items are validated one by one so that invalid rows are reported without failing the batch
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 10000, message = "A batch must not exceed 10000 items")
+    @Schema(description = "Books to create", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<CreateBookRequest> items;
+}
@@ -0,0 +1,23 @@
+package com.company.bookmanagement.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for deleting many books at once")
+public class BatchDeleteBooksRequest {
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = 10000, message = "A batch must not exceed 10000 items")
+    @Schema(description = "IDs of the books to delete", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<Long> ids;
+}
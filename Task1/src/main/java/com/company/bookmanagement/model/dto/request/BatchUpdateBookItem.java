@@ -0,0 +1,19 @@
+package com.company.bookmanagement.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One update within a batch")
+public class BatchUpdateBookItem {
+    @Schema(description = "ID of the book to update", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long id;
+    @Schema(description = "Fields to change", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UpdateBookRequest changes;
+}
@@ -0,0 +1,42 @@
+package com.company.bookmanagement.model.dto.request;
+
+import com.company.bookmanagement.model.entity.Book;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilter {
+    private String author;
+    private String genre;
+    private Integer yearFrom;
+    private Integer yearTo;
+
+    public boolean isEmpty() {
+        return author == null && genre == null && yearFrom == null && yearTo == null;
+    }
+
+    public boolean matches(Book book) {
+        if (author != null && !normalize(author).equals(normalize(book.getAuthor()))) {
+            return false;
+        }
+        if (genre != null && !normalize(genre).equals(normalize(book.getGenre()))) {
+            return false;
+        }
+        if (yearFrom != null && (book.getYear() == null || book.getYear() < yearFrom)) {
+            return false;
+        }
+        return yearTo == null || (book.getYear() != null && book.getYear() <= yearTo);
+    }
+
+    // Author and genre lookups are case-insensitive and ignore surrounding whitespace
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
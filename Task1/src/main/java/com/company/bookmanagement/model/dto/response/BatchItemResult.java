@@ -0,0 +1,29 @@
+package com.company.bookmanagement.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one item in a batch request")
+public class BatchItemResult {
+    @Schema(description = "Position of the item in the request", example = "0")
+    private int index;
+    @Schema(description = "ID of the affected book", example = "1")
+    private Long id;
+    @Schema(description = "What happened to the item", example = "CREATED")
+    private BatchItemStatus status;
+    @Schema(description = "Application error code when the item failed", example = "VAL-001")
+    private String errorCode;
+    @Schema(description = "Field-level validation errors")
+    private Map<String, String> fieldErrors;
+}
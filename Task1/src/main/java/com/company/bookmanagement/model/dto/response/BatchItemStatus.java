@@ -0,0 +1,10 @@
+package com.company.bookmanagement.model.dto.response;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,25 @@
+package com.company.bookmanagement.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary and per-item results of a batch request")
+public class BatchResponse {
+    @Schema(description = "Number of items in the request", example = "3")
+    private int total;
+    @Schema(description = "Number of items applied", example = "2")
+    private int succeeded;
+    @Schema(description = "Number of items rejected", example = "1")
+    private int failed;
+    @Schema(description = "Per-item results in request order")
+    private List<BatchItemResult> results;
+}
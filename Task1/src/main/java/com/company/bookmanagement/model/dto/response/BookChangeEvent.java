@@ -0,0 +1,28 @@
+package com.company.bookmanagement.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "One entry of the book change feed")
+public class BookChangeEvent {
+    @Schema(description = "Resume token; pass it as Last-Event-ID or 'after' to continue after this change",
+            example = "lx3k9a2f-42")
+    private String token;
+    @Schema(description = "Kind of change", example = "SAVED")
+    private BookChangeType type;
+    @Schema(description = "ID of the changed book", example = "1")
+    private Long id;
+    @Schema(description = "Version of the book after a save, or the deleted version", example = "3")
+    private Long version;
+    @Schema(description = "The book as saved; absent for deletions")
+    private BookResponse book;
+}
@@ -0,0 +1,8 @@
+package com.company.bookmanagement.model.dto.response;
+
+public enum BookChangeType {
+    SAVED,
+    DELETED,
+    // The consumer fell behind the retained changes and must re-read the catalog
+    RESET
+}
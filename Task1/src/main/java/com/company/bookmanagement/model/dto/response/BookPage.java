@@ -0,0 +1,18 @@
+package com.company.bookmanagement.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPage {
+    private List<BookResponse> items;
+    // ID to pass as 'after' to fetch the next page, null when this is the last page
+    private Long nextCursor;
+}
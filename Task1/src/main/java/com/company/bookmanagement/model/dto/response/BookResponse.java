@@ -35,4 +35,7 @@ public class BookResponse {
 
     @Schema(description = "When the book record was last updated")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Incremented on every change; also carried in the ETag", example = "3")
+    private Long version;
 }
\ No newline at end of file
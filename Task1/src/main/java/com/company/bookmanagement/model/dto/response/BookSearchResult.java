@@ -0,0 +1,18 @@
+package com.company.bookmanagement.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchResult {
+    private List<BookResponse> items;
+    // True when the search stopped before scoring every match, so a better match may be missing
+    private boolean truncated;
+}
@@ -0,0 +1,27 @@
+package com.company.bookmanagement.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Book counts across the catalog")
+public class CatalogStats {
+    @Schema(description = "Number of books", example = "1200")
+    private long total;
+    @Schema(description = "Books per genre, lowercased; books without a genre are not counted")
+    private Map<String, Long> byGenre;
+    @Schema(description = "Books per author, lowercased")
+    private Map<String, Long> byAuthor;
+    @Schema(description = "Books per decade, keyed by its first year; books without a year are not counted")
+    private Map<Integer, Long> byDecade;
+    @Schema(description = "Books per publication year")
+    private Map<Integer, Long> byYear;
+}
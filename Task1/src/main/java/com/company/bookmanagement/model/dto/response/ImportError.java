@@ -0,0 +1,27 @@
+package com.company.bookmanagement.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A record rejected during an import")
+public class ImportError {
+    @Schema(description = "1-based position of the record in the input", example = "42")
+    private long record;
+    @Schema(description = "Application error code", example = "VAL-001")
+    private String errorCode;
+    @Schema(description = "Why the record was rejected", example = "Validation failed")
+    private String message;
+    @Schema(description = "Field-level validation errors")
+    private Map<String, String> fieldErrors;
+}
@@ -0,0 +1,25 @@
+package com.company.bookmanagement.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a streaming catalog import")
+public class ImportSummary {
+    @Schema(description = "Number of records stored", example = "99998")
+    private long accepted;
+    @Schema(description = "Number of records rejected", example = "2")
+    private long rejected;
+    @Schema(description = "True if the input was malformed and the import stopped early", example = "false")
+    private boolean aborted;
+    @Schema(description = "The first rejected records, up to 100")
+    private List<ImportError> errors;
+}
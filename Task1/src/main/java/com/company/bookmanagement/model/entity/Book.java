@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Book {
@@ -19,4 +19,6 @@ public class Book {
     private String genre;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Incremented by the repository on every save; null until the book is first stored
+    private Long version;
 }
\ No newline at end of file
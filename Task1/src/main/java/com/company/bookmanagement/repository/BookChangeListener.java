@@ -0,0 +1,14 @@
+package com.company.bookmanagement.repository;
+
+import com.company.bookmanagement.model.entity.Book;
+
+/**
+ * Notified by the repository for every write, while the write for that book ID is
+ * still in progress, so listeners see changes to one book in order. Implementations
+ * must be fast and must not call back into the repository.
+ */
+public interface BookChangeListener {
+    // previous is null when the book is new
+    void onSaved(Book previous, Book current);
+    void onDeleted(Book previous);
+}
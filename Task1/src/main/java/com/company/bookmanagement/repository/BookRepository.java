@@ -1,16 +1,77 @@
 package com.company.bookmanagement.repository;
 
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.entity.Book;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 public interface BookRepository {
+    /*
+     * Saving a book that carries a version is a compare-and-set: it fails with
+     * BookVersionConflictException unless the stored book still has that version
+     * (or is gone). A book without a version is written unconditionally. Either way
+     * the stored version is incremented.
+     */
     Book save(Book book);
+    default List<Book> saveAll(List<Book> books) {
+        for (Book book : books) {
+            save(book);
+        }
+        return books;
+    }
     Optional<Book> findById(Long id);
+    // Only the stored version, for conditional reads; override where loading the book is not free
+    default OptionalLong findVersion(Long id) {
+        Optional<Book> book = findById(id);
+        return book.isPresent() ? OptionalLong.of(book.get().getVersion()) : OptionalLong.empty();
+    }
     List<Book> findAll();
+    List<Book> findPage(Long afterId, int limit);
+    // Implementations without secondary indexes fall back to a filtered scan in ID order
+    default List<Book> findPage(BookFilter filter, Long afterId, int limit) {
+        if (filter == null || filter.isEmpty()) {
+            return findPage(afterId, limit);
+        }
+        return scanPage(this, filter, afterId, limit);
+    }
+    // The filtered scan on its own, so indexed implementations can be compared against it
+    static List<Book> scanPage(BookRepository repository, BookFilter filter, Long afterId, int limit) {
+        List<Book> page = new ArrayList<>();
+        Long cursor = afterId;
+        while (page.size() < limit) {
+            List<Book> chunk = repository.findPage(cursor, limit);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            for (Book book : chunk) {
+                if (filter.matches(book) && page.size() < limit) {
+                    page.add(book);
+                }
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
+        return page;
+    }
     boolean deleteById(Long id);
+    // Deletes only while the stored book is at expectedVersion; null means unconditional
+    boolean deleteById(Long id, Long expectedVersion);
+    // Returns the IDs that existed and were deleted
+    default List<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> deleted = new ArrayList<>();
+        for (Long id : ids) {
+            if (deleteById(id)) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
     boolean existsById(Long id);
     long count();
+    // Highest ID handed out so far; 0 when none has been
+    long lastIssuedId();
     void deleteAll();
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.company.bookmanagement.repository.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leases blocks of consecutive IDs and hands them out from lock-striped slots, so
+ * concurrent inserts only meet on the shared block counter once per block.
+ * <p>
+ * A thread uses the stripe picked by its thread ID. Stripes are not thread-local on
+ * purpose: with virtual threads every request runs on a new thread, and a block per
+ * thread would waste most of it. Each node of a cluster owns every node-count'th block,
+ * starting at its node ID, so nodes allocate without talking to each other. IDs are
+ * unique but not in insertion order across stripes, and the unused rest of each block
+ * is skipped after a restart.
+ */
+public class BlockIdAllocator implements BookIdAllocator {
+
+    private final int blockSize;
+    private final int nodeId;
+    private final int nodeCount;
+    private final Stripe[] stripes;
+    private final int mask;
+    // Blocks leased by this node so far
+    private final AtomicLong leasedBlocks = new AtomicLong();
+    private final LongAccumulator lastId = new LongAccumulator(Math::max, 0);
+
+    public BlockIdAllocator(int blockSize, int nodeId, int nodeCount) {
+        if (blockSize < 1 || nodeCount < 1 || nodeId < 0 || nodeId >= nodeCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid ID blocks: size %d, node %d of %d", blockSize, nodeId, nodeCount));
+        }
+        this.blockSize = blockSize;
+        this.nodeId = nodeId;
+        this.nodeCount = nodeCount;
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    @Override
+    public long next() {
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            if (stripe.next == stripe.end) {
+                lease(stripe);
+            }
+            long id = stripe.next++;
+            lastId.accumulate(id);
+            return id;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void next(long[] ids) {
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            for (int i = 0; i < ids.length; i++) {
+                if (stripe.next == stripe.end) {
+                    lease(stripe);
+                }
+                ids[i] = stripe.next++;
+            }
+            if (ids.length > 0) {
+                lastId.accumulate(ids[ids.length - 1]);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public long lastIssued() {
+        return lastId.get();
+    }
+
+    @Override
+    public void advancePast(long id) {
+        if (id <= 0) {
+            return;
+        }
+        // This node's blocks up to the one holding id are all treated as used
+        long block = (id - 1) / blockSize;
+        leasedBlocks.accumulateAndGet(block / nodeCount + 1, Math::max);
+        lastId.accumulate(id);
+    }
+
+    @Override
+    public void reset() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.next = 0;
+                stripe.end = 0;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        leasedBlocks.set(0);
+        lastId.reset();
+    }
+
+    private Stripe stripe() {
+        return stripes[(int) (Thread.currentThread().threadId() & mask)];
+    }
+
+    // Caller holds the stripe's lock
+    private void lease(Stripe stripe) {
+        long block = leasedBlocks.getAndIncrement() * nodeCount + nodeId;
+        stripe.next = block * blockSize + 1;
+        stripe.end = stripe.next + blockSize;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long next;
+        long end;
+    }
+}
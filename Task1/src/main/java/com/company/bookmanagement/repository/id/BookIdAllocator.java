@@ -0,0 +1,27 @@
+package com.company.bookmanagement.repository.id;
+
+/**
+ * Hands out IDs for new books. Implementations are thread-safe and never return the same
+ * ID twice between resets; whether IDs are dense or increase with time depends on the
+ * scheme. Keyset pagination only relies on IDs being unique and positive.
+ */
+public interface BookIdAllocator {
+
+    long next();
+
+    // Fills ids with fresh IDs, for batch inserts; schemes that can lease a run at once override this
+    default void next(long[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = next();
+        }
+    }
+
+    // Highest ID handed out so far; 0 when none has been
+    long lastIssued();
+
+    // Called after a restore so that no ID up to and including id is handed out again
+    void advancePast(long id);
+
+    // Starts over after the repository was emptied, where the scheme allows it
+    void reset();
+}
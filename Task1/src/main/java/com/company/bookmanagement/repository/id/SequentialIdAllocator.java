@@ -0,0 +1,37 @@
+package com.company.bookmanagement.repository.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dense IDs from 1 on a single counter; the default, and what the offheap store relies on
+public class SequentialIdAllocator implements BookIdAllocator {
+
+    private final AtomicLong lastId = new AtomicLong();
+
+    @Override
+    public long next() {
+        return lastId.incrementAndGet();
+    }
+
+    @Override
+    public void next(long[] ids) {
+        long nextId = lastId.getAndAdd(ids.length) + 1;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextId++;
+        }
+    }
+
+    @Override
+    public long lastIssued() {
+        return lastId.get();
+    }
+
+    @Override
+    public void advancePast(long id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public void reset() {
+        lastId.set(0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.bookmanagement.repository.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered IDs built from 41 bits of milliseconds since 2024-01-01, a 4-bit node ID
+ * and an 8-bit sequence, so up to 16 nodes allocate without coordination and IDs sort
+ * by creation time. One CAS per ID; when a millisecond's 256 sequence numbers run out,
+ * or the clock steps back, IDs continue from the last one instead of waiting.
+ * <p>
+ * The 53 bits keep every ID below 2^53, the largest integer JavaScript's number type
+ * holds exactly, so IDs stay JSON numbers; the time part lasts until 2093.
+ */
+public class SnowflakeIdAllocator implements BookIdAllocator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    static final int TIME_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final Clock clock;
+    private final AtomicLong lastId = new AtomicLong();
+
+    public SnowflakeIdAllocator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    public SnowflakeIdAllocator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Snowflake node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long next() {
+        long fresh = ((clock.millis() - EPOCH_MILLIS) << TIME_SHIFT) | nodeBits;
+        while (true) {
+            long previous = lastId.get();
+            long id = fresh > previous ? fresh : successor(previous);
+            if (lastId.compareAndSet(previous, id)) {
+                return id;
+            }
+        }
+    }
+
+    @Override
+    public long lastIssued() {
+        return lastId.get();
+    }
+
+    // Restored IDs may be from another node; only the time part matters for this one
+    @Override
+    public void advancePast(long id) {
+        if (id <= 0) {
+            return;
+        }
+        long sameTime = (id & ~((1L << TIME_SHIFT) - 1)) | nodeBits | SEQUENCE_MASK;
+        lastId.accumulateAndGet(sameTime, Math::max);
+    }
+
+    // IDs stay unique only as long as time moves forward, so the last one is kept
+    @Override
+    public void reset() {
+    }
+
+    // Next sequence number, or the first one of the following millisecond
+    private long successor(long id) {
+        if ((id & SEQUENCE_MASK) == SEQUENCE_MASK) {
+            return ((id >>> TIME_SHIFT) + 1) << TIME_SHIFT | nodeBits;
+        }
+        return id + 1;
+    }
+}
@@ -1,34 +1,137 @@
 package com.company.bookmanagement.repository.impl;
 
+import com.company.bookmanagement.exception.BookVersionConflictException;
+import com.company.bookmanagement.exception.StorageException;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
 import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.id.BookIdAllocator;
+import com.company.bookmanagement.repository.id.SequentialIdAllocator;
+import com.company.bookmanagement.repository.index.HashIndex;
+import com.company.bookmanagement.repository.index.MergingIdIterator;
+import com.company.bookmanagement.repository.index.PostingList;
+import com.company.bookmanagement.repository.index.RangeIndex;
+import com.company.bookmanagement.repository.persistence.BookJournal;
+import com.company.bookmanagement.util.ETagUtil;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentSkipListSet;
 
+/*
+ * Stored books are treated as immutable snapshots: callers save a modified copy
+ * instead of mutating an instance returned by findById, so the previous version
+ * seen inside compute() always reflects what the indexes currently hold.
+ *
+ * A write is applied and published to listeners before its journal record is on disk,
+ * so concurrent writers share an fsync. Writes are refused up front once the journal
+ * has failed; a write already in flight when it fails is rolled back, and listeners
+ * see the rollback as one more change back to the previous book.
+ */
 @Repository
+@Profile("!offheap & !partitioned")
 @Slf4j
 public class InMemoryBookRepository implements BookRepository {
     private final Map<Long, Book> bookStorage = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(0);
+    // Ordered view of the stored IDs, used for keyset pagination
+    private final NavigableSet<Long> idIndex = new ConcurrentSkipListSet<>();
+    // Secondary indexes, maintained inside compute() so each book's entries change atomically
+    private final HashIndex<String> authorIndex = new HashIndex<>();
+    private final HashIndex<String> genreIndex = new HashIndex<>();
+    private final RangeIndex<Integer> yearIndex = new RangeIndex<>();
+    private final List<BookChangeListener> listeners;
+    private final BookJournal journal;
+    private final BookIdAllocator idAllocator;
+    // Failed writes found already replaced by a later write, which must roll back past them
+    private final Map<Book, Book> undone = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public InMemoryBookRepository(List<BookChangeListener> listeners) {
+        this(listeners, BookJournal.NONE);
+    }
+
+    public InMemoryBookRepository(List<BookChangeListener> listeners, BookJournal journal) {
+        this(listeners, journal, new SequentialIdAllocator());
+    }
+
+    public InMemoryBookRepository(List<BookChangeListener> listeners, BookJournal journal, BookIdAllocator idAllocator) {
+        this.listeners = List.copyOf(listeners);
+        this.journal = journal;
+        this.idAllocator = idAllocator;
+    }
+
+    @Autowired
+    public InMemoryBookRepository(ObjectProvider<BookChangeListener> listeners, ObjectProvider<BookJournal> journal,
+                                  ObjectProvider<BookIdAllocator> idAllocator) {
+        this(listeners.orderedStream().toList(), journal.getIfAvailable(() -> BookJournal.NONE),
+                idAllocator.getIfAvailable(SequentialIdAllocator::new));
+    }
+
+    @PostConstruct
+    public void restore() {
+        long maxId = journal.replay(this::restoreSaved, this::restoreDeleted);
+        idAllocator.advancePast(maxId);
+        if (!bookStorage.isEmpty()) {
+            log.info("Restored {} books from journal, last issued ID: {}", bookStorage.size(), idAllocator.lastIssued());
+        }
+    }
+
     @Override
     public Book save(Book book) {
+        journal.checkWritable();
         if (book.getId() == null) {
-            book.setId(idGenerator.incrementAndGet());
+            book.setId(idAllocator.next());
             book.setCreatedAt(LocalDateTime.now());
-            log.info("Creating new book with ID: {}", book.getId());
+            log.debug("Creating new book with ID: {}", book.getId());
         }
         book.setUpdatedAt(LocalDateTime.now());
-        bookStorage.put(book.getId(), book);
+        awaitDurable(List.of(store(book)));
 
-        log.debug("Book saved: {}", book);
+        log.debug("Book saved: {}", book.getId());
         return book;
     }
 
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        journal.checkWritable();
+        int newBooks = 0;
+        for (Book book : books) {
+            if (book.getId() == null) {
+                newBooks++;
+            }
+        }
+        // Allocate the batch's IDs in one call and stamp the whole batch with a single timestamp
+        long[] ids = new long[newBooks];
+        idAllocator.next(ids);
+        int nextId = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<Write> writes = new ArrayList<>(books.size());
+        try {
+            for (Book book : books) {
+                if (book.getId() == null) {
+                    book.setId(ids[nextId++]);
+                    book.setCreatedAt(now);
+                }
+                book.setUpdatedAt(now);
+                writes.add(store(book));
+            }
+        } finally {
+            awaitDurable(writes);
+        }
+
+        log.info("Saved batch of {} books ({} new)", books.size(), newBooks);
+        return books;
+    }
+
     @Override
     public Optional<Book> findById(Long id) {
         log.debug("Finding book with ID: {}", id);
@@ -40,12 +143,32 @@ public class InMemoryBookRepository implements BookRepository {
         return new ArrayList<>(bookStorage.values());
     }
     @Override
+    public List<Book> findPage(Long afterId, int limit) {
+        log.debug("Finding page of {} books after ID: {}", limit, afterId);
+        NavigableSet<Long> ids = afterId == null ? idIndex : idIndex.tailSet(afterId, false);
+        return collectPage(ids.iterator(), null, limit);
+    }
+    @Override
+    public List<Book> findPage(BookFilter filter, Long afterId, int limit) {
+        if (filter == null || filter.isEmpty()) {
+            return findPage(afterId, limit);
+        }
+        log.debug("Finding page of {} books after ID: {} matching {}", limit, afterId, filter);
+        return collectPage(candidateIds(filter, afterId), filter, limit);
+    }
+    @Override
     public boolean deleteById(Long id) {
-        log.info("Attempting to delete book with ID: {}", id);
-        Book removed = bookStorage.remove(id);
+        return deleteById(id, null);
+    }
+    @Override
+    public boolean deleteById(Long id, Long expectedVersion) {
+        log.debug("Attempting to delete book with ID: {}", id);
+        journal.checkWritable();
+        Write removed = removeIndexed(id, expectedVersion);
 
         if (removed != null) {
-            log.info("Book deleted: {}", id);
+            awaitDurable(List.of(removed));
+            log.debug("Book deleted: {}", id);
             return true;
         }
 
@@ -53,6 +176,23 @@ public class InMemoryBookRepository implements BookRepository {
         return false;
     }
     @Override
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        journal.checkWritable();
+        List<Long> deleted = new ArrayList<>(ids.size());
+        List<Write> writes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Write removed = removeIndexed(id, null);
+            if (removed != null) {
+                writes.add(removed);
+                deleted.add(id);
+            }
+        }
+        awaitDurable(writes);
+
+        log.info("Deleted batch of {} books ({} requested)", deleted.size(), ids.size());
+        return deleted;
+    }
+    @Override
     public boolean existsById(Long id) {
         return bookStorage.containsKey(id);
     }
@@ -61,9 +201,195 @@ public class InMemoryBookRepository implements BookRepository {
         return bookStorage.size();
     }
     @Override
+    public long lastIssuedId() {
+        return idAllocator.lastIssued();
+    }
+    @Override
     public void deleteAll() {
         log.warn("Deleting all books from storage");
-        bookStorage.clear();
-        idGenerator.set(0);  // Reset ID counter
+        journal.checkWritable();
+        // Remove entry by entry so concurrent writers never leave stale index entries behind
+        List<Write> writes = new ArrayList<>(bookStorage.size());
+        for (Long id : bookStorage.keySet()) {
+            Write removed = removeIndexed(id, null);
+            if (removed != null) {
+                writes.add(removed);
+            }
+        }
+        awaitDurable(writes);
+        idAllocator.reset();
+        ETagUtil.renewEpoch();
+    }
+
+    // The journal record is appended while the ID is locked; the caller waits for it afterwards
+    private Write store(Book book) {
+        Write[] write = new Write[1];
+        bookStorage.compute(book.getId(), (id, previous) -> {
+            Long currentVersion = previous == null ? null : previous.getVersion();
+            if (book.getVersion() != null && !book.getVersion().equals(currentVersion)) {
+                throw new BookVersionConflictException(id, book.getVersion(), currentVersion);
+            }
+            book.setVersion(currentVersion == null ? 1L : currentVersion + 1);
+            reindex(id, previous, book);
+            write[0] = new Write(id, previous, book, journal.recordSaved(book));
+            return book;
+        });
+        return write[0];
+    }
+
+    // Null if there was nothing to delete
+    private Write removeIndexed(Long id, Long expectedVersion) {
+        Write[] write = new Write[1];
+        bookStorage.computeIfPresent(id, (key, existing) -> {
+            if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+                throw new BookVersionConflictException(key, expectedVersion, existing.getVersion());
+            }
+            reindex(key, existing, null);
+            write[0] = new Write(key, existing, null, journal.recordDeleted(key));
+            return null;
+        });
+        return write[0];
+    }
+
+    // Journal replay; also used by PartitionedBookRepository, which replays once for all shards
+    void restoreSaved(Book book) {
+        bookStorage.compute(book.getId(), (id, previous) -> {
+            reindex(id, previous, book);
+            return book;
+        });
+    }
+
+    void restoreDeleted(long id) {
+        bookStorage.computeIfPresent(id, (key, existing) -> {
+            reindex(key, existing, null);
+            return null;
+        });
+    }
+
+    /*
+     * Journal records are committed in order and the journal rejects everything after a
+     * failed record, so waiting for the last write covers the batch, and the failed ones
+     * are a suffix of it. They are rolled back newest first.
+     */
+    private void awaitDurable(List<Write> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            writes.get(writes.size() - 1).commit().join();
+        } catch (CompletionException ex) {
+            for (int i = writes.size() - 1; i >= 0 && writes.get(i).commit().isCompletedExceptionally(); i--) {
+                rollBack(writes.get(i));
+            }
+            throw new StorageException(ex.getCause());
+        }
+    }
+
+    /*
+     * Restores the book the failed write replaced. Any later write to the same ID was
+     * journaled after this one and has failed too; if it was applied first, this one is
+     * noted in `undone` so that the later write, when it rolls back, goes past it.
+     */
+    private void rollBack(Write write) {
+        bookStorage.compute(write.id(), (id, current) -> {
+            if (current != write.current()) {
+                if (write.current() != null) {
+                    undone.put(write.current(), write.previous());
+                }
+                return current;
+            }
+            Book restored = write.previous();
+            while (restored != null && undone.containsKey(restored)) {
+                restored = undone.remove(restored);
+            }
+            reindex(id, current, restored);
+            return restored;
+        });
+    }
+
+    // Must only be called from inside a compute() on bookStorage for the same ID
+    private void reindex(Long id, Book previous, Book current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        String previousAuthor = previous == null ? null : BookFilter.normalize(previous.getAuthor());
+        String currentAuthor = current == null ? null : BookFilter.normalize(current.getAuthor());
+        if (!Objects.equals(previousAuthor, currentAuthor)) {
+            authorIndex.remove(previousAuthor, id);
+            authorIndex.add(currentAuthor, id);
+        }
+
+        String previousGenre = previous == null ? null : BookFilter.normalize(previous.getGenre());
+        String currentGenre = current == null ? null : BookFilter.normalize(current.getGenre());
+        if (!Objects.equals(previousGenre, currentGenre)) {
+            genreIndex.remove(previousGenre, id);
+            genreIndex.add(currentGenre, id);
+        }
+
+        Integer previousYear = previous == null ? null : previous.getYear();
+        Integer currentYear = current == null ? null : current.getYear();
+        if (!Objects.equals(previousYear, currentYear)) {
+            yearIndex.remove(previousYear, id);
+            yearIndex.add(currentYear, id);
+        }
+
+        if (current == null) {
+            idIndex.remove(id);
+        } else if (previous == null) {
+            idIndex.add(id);
+        }
+
+        for (BookChangeListener listener : listeners) {
+            if (current == null) {
+                listener.onDeleted(previous);
+            } else {
+                listener.onSaved(previous, current);
+            }
+        }
+    }
+
+    // Walks the most selective index; every candidate is re-checked against the stored book
+    private Iterator<Long> candidateIds(BookFilter filter, Long afterId) {
+        PostingList best = null;
+        if (filter.getAuthor() != null) {
+            best = authorIndex.get(BookFilter.normalize(filter.getAuthor()));
+        }
+        if (filter.getGenre() != null) {
+            PostingList genreIds = genreIndex.get(BookFilter.normalize(filter.getGenre()));
+            if (best == null || genreIds.size() < best.size()) {
+                best = genreIds;
+            }
+        }
+        if (filter.getYearFrom() != null || filter.getYearTo() != null) {
+            List<PostingList> years = yearIndex.range(filter.getYearFrom(), filter.getYearTo());
+            int yearCount = 0;
+            for (PostingList list : years) {
+                yearCount += list.size();
+            }
+            if (best == null || yearCount < best.size()) {
+                List<NavigableSet<Long>> sources = new ArrayList<>(years.size());
+                for (PostingList list : years) {
+                    sources.add(list.idsAfter(afterId));
+                }
+                return new MergingIdIterator(sources);
+            }
+        }
+        return best.idsAfter(afterId).iterator();
+    }
+
+    private List<Book> collectPage(Iterator<Long> ids, BookFilter filter, int limit) {
+        List<Book> page = new ArrayList<>(Math.min(limit, bookStorage.size()));
+        while (page.size() < limit && ids.hasNext()) {
+            // The ID may have been removed or changed between reading the index and the storage
+            Book book = bookStorage.get(ids.next());
+            if (book != null && (filter == null || filter.matches(book))) {
+                page.add(book);
+            }
+        }
+        return page;
+    }
+
+    // One applied write; current is null for a delete
+    private record Write(Long id, Book previous, Book current, CompletableFuture<?> commit) {
     }
-}
\ No newline at end of file
+}
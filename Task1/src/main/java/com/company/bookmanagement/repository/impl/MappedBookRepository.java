@@ -0,0 +1,377 @@
+package com.company.bookmanagement.repository.impl;
+
+import com.company.bookmanagement.exception.BookVersionConflictException;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.offheap.MappedRecordFile;
+import com.company.bookmanagement.repository.offheap.OffsetIndex;
+import com.company.bookmanagement.util.ETagUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Keeps book records in a memory-mapped file instead of on the heap; the only heap
+ * cost per book is its 8-byte slot in the offset index. Book instances are decoded on
+ * every read. Updates append a new record and repoint the index, leaving the old record
+ * behind as garbage. Once the garbage outgrows both the live records and one segment,
+ * the live records are copied into a fresh file (alternating between the configured
+ * path and a ".compact" sibling) and the old one is closed, so the file stays within
+ * about twice the live data plus a segment. The copy runs under the write lock and
+ * costs as much as the live data, which the garbage rule amortizes over at least as
+ * many bytes of updates. Readers resolve the index and the file as one pair, so one
+ * that raced a compaction finishes against the old mapping. deleteAll() switches to an
+ * empty file the same way. The file is scratch space and is discarded on shutdown.
+ *
+ * Writes are serialized by one lock, which also keeps listener notifications for a
+ * book in order. Reads take no lock.
+ */
+@Repository
+@Profile("offheap")
+@Slf4j
+public class MappedBookRepository implements BookRepository, AutoCloseable {
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+    // Position of the version in an encoded record, after id, createdAt and updatedAt
+    private static final int VERSION_POSITION = 3 * Long.BYTES;
+
+    private final Path file;
+    private final int segmentSize;
+    // Replaced as a whole on compaction; writers use it under the lock, readers take one snapshot per read
+    private volatile Storage storage;
+    private long liveBytes;
+    private final AtomicLong idGenerator = new AtomicLong(0);
+    private final AtomicLong bookCount = new AtomicLong(0);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<BookChangeListener> listeners;
+
+    public MappedBookRepository(List<BookChangeListener> listeners, Path file, int segmentSize) {
+        this.listeners = List.copyOf(listeners);
+        this.file = file;
+        this.segmentSize = segmentSize;
+        this.storage = new Storage(file, new MappedRecordFile(file, segmentSize), new OffsetIndex());
+    }
+
+    @Autowired
+    public MappedBookRepository(
+            ObjectProvider<BookChangeListener> listeners,
+            @Value("${bookmanagement.offheap.file:${java.io.tmpdir}/bookmanagement/books.dat}") Path file,
+            @Value("${bookmanagement.offheap.segment-size:268435456}") int segmentSize) {
+        this(listeners.orderedStream().toList(), file, segmentSize);
+    }
+
+    @Override
+    public Book save(Book book) {
+        writeLock.lock();
+        try {
+            // Timestamps are stored as epoch millis; truncate up front so callers see what is stored
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            if (book.getId() == null) {
+                book.setId(idGenerator.incrementAndGet());
+                book.setCreatedAt(now);
+                log.debug("Creating new book with ID: {}", book.getId());
+            }
+            book.setUpdatedAt(now);
+            store(book);
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.debug("Book saved: {}", book.getId());
+        return book;
+    }
+
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        writeLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            for (Book book : books) {
+                if (book.getId() == null) {
+                    book.setId(idGenerator.incrementAndGet());
+                    book.setCreatedAt(now);
+                }
+                book.setUpdatedAt(now);
+                store(book);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.info("Saved batch of {} books", books.size());
+        return books;
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        log.debug("Finding book with ID: {}", id);
+        return Optional.ofNullable(read(id));
+    }
+
+    @Override
+    public OptionalLong findVersion(Long id) {
+        Storage current = storage;
+        long offset = id == null ? OffsetIndex.ABSENT : current.offsets().get(id);
+        return offset == OffsetIndex.ABSENT
+                ? OptionalLong.empty()
+                : OptionalLong.of(current.records().readLong(offset, VERSION_POSITION));
+    }
+
+    @Override
+    public List<Book> findAll() {
+        log.debug("Finding all books, count: {}", bookCount.get());
+        return findPage(null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Book> findPage(Long afterId, int limit) {
+        log.debug("Finding page of {} books after ID: {}", limit, afterId);
+        List<Book> page = new ArrayList<>((int) Math.min(limit, bookCount.get()));
+        long id = storage.offsets().nextId(afterId == null ? 0 : afterId);
+        while (id != OffsetIndex.ABSENT && page.size() < limit) {
+            // The book may have been deleted since nextId() saw it
+            Book book = read(id);
+            if (book != null) {
+                page.add(book);
+            }
+            id = storage.offsets().nextId(id);
+        }
+        return page;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return deleteById(id, null);
+    }
+
+    @Override
+    public boolean deleteById(Long id, Long expectedVersion) {
+        log.debug("Attempting to delete book with ID: {}", id);
+        writeLock.lock();
+        try {
+            Book previous = read(id);
+            if (previous == null) {
+                log.warn("Book not found for deletion: {}", id);
+                return false;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(previous.getVersion())) {
+                throw new BookVersionConflictException(id, expectedVersion, previous.getVersion());
+            }
+            Storage current = storage;
+            long offset = current.offsets().get(id);
+            liveBytes -= current.records().recordSize(offset);
+            current.offsets().remove(id);
+            bookCount.decrementAndGet();
+            for (BookChangeListener listener : listeners) {
+                listener.onDeleted(previous);
+            }
+            compactIfWasteful();
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.debug("Book deleted: {}", id);
+        return true;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && storage.offsets().get(id) != OffsetIndex.ABSENT;
+    }
+
+    @Override
+    public long count() {
+        return bookCount.get();
+    }
+
+    @Override
+    public long lastIssuedId() {
+        return idGenerator.get();
+    }
+
+    @Override
+    public void deleteAll() {
+        log.warn("Deleting all books from storage");
+        writeLock.lock();
+        try {
+            OffsetIndex offsets = storage.offsets();
+            for (long id = offsets.nextId(0); id != OffsetIndex.ABSENT; id = offsets.nextId(id)) {
+                Book previous = read(id);
+                for (BookChangeListener listener : listeners) {
+                    listener.onDeleted(previous);
+                }
+            }
+            Path target = nextFile();
+            replaceStorage(new Storage(target, new MappedRecordFile(target, segmentSize), new OffsetIndex()));
+            liveBytes = 0;
+            bookCount.set(0);
+            idGenerator.set(0);  // Reset ID counter
+            ETagUtil.renewEpoch();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        storage.records().close();
+    }
+
+    // Bytes of the current record file in use, live records and garbage together
+    public long fileSize() {
+        return storage.records().size();
+    }
+
+    // Must be called with the write lock held
+    private void store(Book book) {
+        Book previous = read(book.getId());
+        Long currentVersion = previous == null ? null : previous.getVersion();
+        if (book.getVersion() != null && !book.getVersion().equals(currentVersion)) {
+            throw new BookVersionConflictException(book.getId(), book.getVersion(), currentVersion);
+        }
+        book.setVersion(currentVersion == null ? 1L : currentVersion + 1);
+        Storage current = storage;
+        if (previous != null) {
+            liveBytes -= current.records().recordSize(current.offsets().get(book.getId()));
+        }
+        long offset = current.records().append(encode(book));
+        liveBytes += current.records().recordSize(offset);
+        current.offsets().put(book.getId(), offset);
+        if (previous == null) {
+            bookCount.incrementAndGet();
+        }
+        for (BookChangeListener listener : listeners) {
+            listener.onSaved(previous, book);
+        }
+        compactIfWasteful();
+    }
+
+    // Must be called with the write lock held
+    private void compactIfWasteful() {
+        long garbage = storage.records().size() - liveBytes;
+        if (garbage > Math.max(liveBytes, segmentSize)) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Storage current = storage;
+        long before = current.records().size();
+        Path target = nextFile();
+        MappedRecordFile records = new MappedRecordFile(target, segmentSize);
+        OffsetIndex offsets = new OffsetIndex();
+        OffsetIndex live = current.offsets();
+        for (long id = live.nextId(0); id != OffsetIndex.ABSENT; id = live.nextId(id)) {
+            offsets.put(id, records.append(current.records().read(live.get(id))));
+        }
+        replaceStorage(new Storage(target, records, offsets));
+        log.info("Compacted book records from {} to {} bytes", before, records.size());
+    }
+
+    private Path nextFile() {
+        return storage.file().equals(file) ? file.resolveSibling(file.getFileName() + ".compact") : file;
+    }
+
+    private void replaceStorage(Storage replacement) {
+        Storage previous = storage;
+        storage = replacement;
+        try {
+            // Readers still holding the previous storage keep reading its mappings
+            previous.records().close();
+        } catch (IOException ex) {
+            log.warn("Could not remove old record file {}", previous.file(), ex);
+        }
+    }
+
+    private Book read(Long id) {
+        Storage current = storage;
+        long offset = id == null ? OffsetIndex.ABSENT : current.offsets().get(id);
+        return offset == OffsetIndex.ABSENT ? null : decode(current.records().read(offset));
+    }
+
+    private record Storage(Path file, MappedRecordFile records, OffsetIndex offsets) {
+    }
+
+    private static byte[] encode(Book book) {
+        byte[] title = utf8(book.getTitle());
+        byte[] author = utf8(book.getAuthor());
+        byte[] genre = utf8(book.getGenre());
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Long.BYTES + 4 * Integer.BYTES
+                + length(title) + length(author) + length(genre));
+        buffer.putLong(book.getId());
+        buffer.putLong(toMillis(book.getCreatedAt()));
+        buffer.putLong(toMillis(book.getUpdatedAt()));
+        buffer.putLong(book.getVersion());
+        buffer.putInt(book.getYear() == null ? NULL_YEAR : book.getYear());
+        putString(buffer, title);
+        putString(buffer, author);
+        putString(buffer, genre);
+        return buffer.array();
+    }
+
+    private static Book decode(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        Book book = new Book();
+        book.setId(buffer.getLong());
+        book.setCreatedAt(fromMillis(buffer.getLong()));
+        book.setUpdatedAt(fromMillis(buffer.getLong()));
+        book.setVersion(buffer.getLong());
+        int year = buffer.getInt();
+        book.setYear(year == NULL_YEAR ? null : year);
+        book.setTitle(getString(buffer));
+        book.setAuthor(getString(buffer));
+        book.setGenre(getString(buffer));
+        return book;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? NULL_TIME : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return millis == NULL_TIME ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.bookmanagement.repository.impl;
+
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.repository.id.BookIdAllocator;
+import com.company.bookmanagement.repository.id.SequentialIdAllocator;
+import com.company.bookmanagement.repository.persistence.BookJournal;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/*
+ * Splits the catalog into N in-memory shards keyed by a hash of the book ID. Each shard
+ * has its own ID set and secondary indexes, so concurrent inserts no longer meet on the
+ * same posting lists (there are only a handful of genres). IDs come from one shared
+ * allocator before a book is routed, which keeps them unique across shards.
+ *
+ * Single-book operations touch one shard. Pages are the first `limit` books of the
+ * per-shard pages merged by ID, so a page costs N index walks instead of one.
+ */
+@Repository
+@Profile("partitioned & !offheap")
+@Slf4j
+public class PartitionedBookRepository implements BookRepository {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final InMemoryBookRepository[] shards;
+    private final BookJournal journal;
+    private final BookIdAllocator idAllocator;
+
+    public PartitionedBookRepository(List<BookChangeListener> listeners, BookJournal journal,
+                                     BookIdAllocator idAllocator, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitions);
+        }
+        this.shards = new InMemoryBookRepository[partitions];
+        for (int i = 0; i < partitions; i++) {
+            // Shards only ever receive books that already have an ID
+            shards[i] = new InMemoryBookRepository(listeners, journal);
+        }
+        this.journal = journal;
+        this.idAllocator = idAllocator;
+    }
+
+    @Autowired
+    public PartitionedBookRepository(
+            ObjectProvider<BookChangeListener> listeners,
+            ObjectProvider<BookJournal> journal,
+            ObjectProvider<BookIdAllocator> idAllocator,
+            @Value("${bookmanagement.storage.partitions:0}") int partitions) {
+        this(listeners.orderedStream().toList(), journal.getIfAvailable(() -> BookJournal.NONE),
+                idAllocator.getIfAvailable(SequentialIdAllocator::new),
+                partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PostConstruct
+    public void restore() {
+        long maxId = journal.replay(book -> shard(book.getId()).restoreSaved(book), id -> shard(id).restoreDeleted(id));
+        idAllocator.advancePast(maxId);
+        log.info("Using {} partitions, restored {} books, last issued ID: {}", shards.length, count(), idAllocator.lastIssued());
+    }
+
+    @Override
+    public Book save(Book book) {
+        if (book.getId() == null) {
+            book.setId(idAllocator.next());
+            book.setCreatedAt(LocalDateTime.now());
+        }
+        return shard(book.getId()).save(book);
+    }
+
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        int newBooks = 0;
+        for (Book book : books) {
+            if (book.getId() == null) {
+                newBooks++;
+            }
+        }
+        long[] ids = new long[newBooks];
+        idAllocator.next(ids);
+        int nextId = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<List<Book>> byShard = partition(books.size());
+        for (Book book : books) {
+            if (book.getId() == null) {
+                book.setId(ids[nextId++]);
+                book.setCreatedAt(now);
+            }
+            byShard.get(shardIndex(book.getId())).add(book);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (!byShard.get(i).isEmpty()) {
+                shards[i].saveAll(byShard.get(i));
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        return shard(id).findById(id);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        List<Book> books = new ArrayList<>();
+        for (InMemoryBookRepository shard : shards) {
+            books.addAll(shard.findAll());
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> findPage(Long afterId, int limit) {
+        return findPage(null, afterId, limit);
+    }
+
+    @Override
+    public List<Book> findPage(BookFilter filter, Long afterId, int limit) {
+        List<Book> merged = new ArrayList<>();
+        for (InMemoryBookRepository shard : shards) {
+            merged.addAll(shard.findPage(filter, afterId, limit));
+        }
+        merged.sort(Comparator.comparing(Book::getId));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return shard(id).deleteById(id);
+    }
+
+    @Override
+    public boolean deleteById(Long id, Long expectedVersion) {
+        return shard(id).deleteById(id, expectedVersion);
+    }
+
+    @Override
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        List<List<Long>> byShard = partition(ids.size());
+        for (Long id : ids) {
+            byShard.get(shardIndex(id)).add(id);
+        }
+        List<Long> deleted = new ArrayList<>(ids.size());
+        for (int i = 0; i < shards.length; i++) {
+            if (!byShard.get(i).isEmpty()) {
+                deleted.addAll(shards[i].deleteAllById(byShard.get(i)));
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return shard(id).existsById(id);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (InMemoryBookRepository shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    @Override
+    public long lastIssuedId() {
+        return idAllocator.lastIssued();
+    }
+
+    @Override
+    public void deleteAll() {
+        for (InMemoryBookRepository shard : shards) {
+            shard.deleteAll();
+        }
+        idAllocator.reset();
+    }
+
+    private InMemoryBookRepository shard(long id) {
+        return shards[shardIndex(id)];
+    }
+
+    // Fibonacci hashing, so time-based IDs whose low bits are mostly zero still spread evenly
+    private int shardIndex(long id) {
+        return (int) (((id * GOLDEN_RATIO) >>> 32) * shards.length >>> 32);
+    }
+
+    private <T> List<List<T>> partition(int expectedSize) {
+        List<List<T>> lists = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            lists.add(new ArrayList<>(expectedSize / shards.length + 1));
+        }
+        return lists;
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.bookmanagement.repository.index;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Exact-match index from a key to the IDs of the books holding it.
+ * All mutations of a key's posting list run inside {@link ConcurrentMap#compute},
+ * so an add can never race with the removal of an emptied list.
+ */
+public class HashIndex<K> {
+
+    private final ConcurrentMap<K, PostingList> postings = new ConcurrentHashMap<>();
+
+    public void add(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        postings.compute(key, (k, list) -> {
+            PostingList target = list != null ? list : new PostingList();
+            target.add(id);
+            return target;
+        });
+    }
+
+    public void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        postings.computeIfPresent(key, (k, list) -> {
+            list.remove(id);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    public PostingList get(K key) {
+        return key == null ? PostingList.EMPTY : postings.getOrDefault(key, PostingList.EMPTY);
+    }
+
+    public int keyCount() {
+        return postings.size();
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+}
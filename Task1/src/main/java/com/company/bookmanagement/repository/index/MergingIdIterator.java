@@ -0,0 +1,69 @@
+package com.company.bookmanagement.repository.index;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges several ascending ID iterators into one ascending iterator without
+ * materializing them. Duplicates, which can show up briefly while a book moves
+ * between posting lists, are collapsed.
+ */
+public class MergingIdIterator implements Iterator<Long> {
+
+    private final PriorityQueue<Head> heads;
+    private Long last;
+    private Long next;
+
+    public MergingIdIterator(Collection<? extends Iterable<Long>> sources) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()));
+        for (Iterable<Long> source : sources) {
+            Iterator<Long> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !heads.isEmpty()) {
+            Head head = heads.poll();
+            Long candidate = head.value;
+            if (head.iterator.hasNext()) {
+                head.value = head.iterator.next();
+                heads.add(head);
+            }
+            if (!candidate.equals(last)) {
+                next = candidate;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Long next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = next;
+        next = null;
+        return last;
+    }
+
+    private static final class Head implements Comparable<Head> {
+        private Long value;
+        private final Iterator<Long> iterator;
+
+        private Head(Long value, Iterator<Long> iterator) {
+            this.value = value;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            return value.compareTo(other.value);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.bookmanagement.repository.index;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ordered set of book IDs sharing one index key. The size is tracked separately
+ * because {@link ConcurrentSkipListSet#size()} is a linear scan.
+ */
+public class PostingList {
+
+    static final PostingList EMPTY = new PostingList();
+
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(Long id) {
+        if (ids.add(id)) {
+            size.incrementAndGet();
+        }
+    }
+
+    void remove(Long id) {
+        if (ids.remove(id)) {
+            size.decrementAndGet();
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public NavigableSet<Long> ids() {
+        return Collections.unmodifiableNavigableSet(ids);
+    }
+
+    public NavigableSet<Long> idsAfter(Long afterId) {
+        return afterId == null ? ids() : ids().tailSet(afterId, false);
+    }
+}
@@ -0,0 +1,56 @@
+package com.company.bookmanagement.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted index for range lookups over a small key domain such as publication years.
+ * {@link ConcurrentSkipListMap#compute} is not atomic, so emptied posting lists are
+ * kept instead of removed; the key domain is bounded, so they cost almost nothing.
+ */
+public class RangeIndex<K extends Comparable<? super K>> {
+
+    private final ConcurrentSkipListMap<K, PostingList> postings = new ConcurrentSkipListMap<>();
+
+    public void add(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        postings.computeIfAbsent(key, k -> new PostingList()).add(id);
+    }
+
+    public void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        PostingList list = postings.get(key);
+        if (list != null) {
+            list.remove(id);
+        }
+    }
+
+    public List<PostingList> range(K from, K to) {
+        NavigableMap<K, PostingList> view = postings;
+        if (from != null) {
+            view = view.tailMap(from, true);
+        }
+        if (to != null) {
+            view = view.headMap(to, true);
+        }
+        Collection<PostingList> lists = view.values();
+        List<PostingList> result = new ArrayList<>(lists.size());
+        for (PostingList list : lists) {
+            if (!list.isEmpty()) {
+                result.add(list);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.company.bookmanagement.repository.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only store of length-prefixed records in a memory-mapped file. The file is
+ * mapped in fixed-size segments because a single mapping is limited to 2 GB; a record
+ * never straddles two segments. Reads use absolute accessors only, so any number of
+ * threads can read while one thread appends. Written records are never overwritten, so
+ * an offset stays readable for as long as the file is open, and after close() for as
+ * long as the reader still holds this instance: closing the channel leaves the mappings
+ * valid. Space is reclaimed by copying the live records into a new file.
+ */
+public class MappedRecordFile implements AutoCloseable {
+    private final Path path;
+    private final FileChannel channel;
+    private final int segmentSize;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long position;
+
+    public MappedRecordFile(Path path, int segmentSize) {
+        this.path = path;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(path.getParent());
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open record file " + path, ex);
+        }
+    }
+
+    // Callers must serialize appends; the record is fully written before its offset is returned
+    public long append(byte[] record) {
+        int length = Integer.BYTES + record.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + record.length + " bytes exceeds segment size");
+        }
+        if (position % segmentSize + length > segmentSize) {
+            position = (position / segmentSize + 1) * segmentSize;
+        }
+        long offset = position;
+        MappedByteBuffer segment = segment((int) (offset / segmentSize));
+        int within = (int) (offset % segmentSize);
+        segment.putInt(within, record.length);
+        segment.put(within + Integer.BYTES, record);
+        position += length;
+        return offset;
+    }
+
+    public byte[] read(long offset) {
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        int within = (int) (offset % segmentSize);
+        byte[] record = new byte[segment.getInt(within)];
+        segment.get(within + Integer.BYTES, record);
+        return record;
+    }
+
+    // One long at the given position within the record, without copying the record out
+    public long readLong(long offset, int position) {
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        return segment.getLong((int) (offset % segmentSize) + Integer.BYTES + position);
+    }
+
+    // Bytes the record at offset takes up in the file, length prefix included
+    public int recordSize(long offset) {
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        return Integer.BYTES + segment.getInt((int) (offset % segmentSize));
+    }
+
+    public long size() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private MappedByteBuffer segment(int index) {
+        MappedByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        try {
+            MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+            for (int i = current.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * segmentSize, segmentSize);
+            }
+            segments = grown;
+            return grown[index];
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not map segment " + index + " of " + path, ex);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.bookmanagement.repository.offheap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Primitive ID to file offset map. IDs are handed out sequentially, so the index is
+ * a directory of fixed-size chunks addressed by the ID itself: 8 bytes per ID and no
+ * boxing or hashing. Readers are lock-free; writes must be serialized by the caller.
+ */
+public class OffsetIndex {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    public static final long ABSENT = -1;
+
+    // Replaced, never modified in place, so readers always see fully built chunks
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    public long get(long id) {
+        AtomicLongArray chunk = chunkFor(id);
+        // Offsets are stored plus one so that an untouched slot reads as absent
+        return chunk == null ? ABSENT : chunk.get((int) (id & CHUNK_MASK)) - 1;
+    }
+
+    public void put(long id, long offset) {
+        int chunkIndex = Math.toIntExact(id >>> CHUNK_BITS);
+        AtomicLongArray[] current = chunks;
+        if (chunkIndex >= current.length || current[chunkIndex] == null) {
+            AtomicLongArray[] grown = Arrays.copyOf(current, Math.max(current.length, chunkIndex + 1));
+            grown[chunkIndex] = new AtomicLongArray(CHUNK_SIZE);
+            chunks = grown;
+            current = grown;
+        }
+        current[chunkIndex].set((int) (id & CHUNK_MASK), offset + 1);
+    }
+
+    public void remove(long id) {
+        AtomicLongArray chunk = chunkFor(id);
+        if (chunk != null) {
+            chunk.set((int) (id & CHUNK_MASK), 0);
+        }
+    }
+
+    // Smallest ID greater than afterId that has an offset, or ABSENT
+    public long nextId(long afterId) {
+        AtomicLongArray[] current = chunks;
+        long id = Math.max(afterId + 1, 0);
+        while ((id >>> CHUNK_BITS) < current.length) {
+            AtomicLongArray chunk = current[(int) (id >>> CHUNK_BITS)];
+            if (chunk == null) {
+                id = ((id >>> CHUNK_BITS) + 1) << CHUNK_BITS;
+                continue;
+            }
+            for (int slot = (int) (id & CHUNK_MASK); slot < CHUNK_SIZE; slot++, id++) {
+                if (chunk.get(slot) != 0) {
+                    return id;
+                }
+            }
+        }
+        return ABSENT;
+    }
+
+    public void clear() {
+        chunks = new AtomicLongArray[0];
+    }
+
+    private AtomicLongArray chunkFor(long id) {
+        AtomicLongArray[] current = chunks;
+        long chunkIndex = id >>> CHUNK_BITS;
+        return id < 0 || chunkIndex >= current.length ? null : current[(int) chunkIndex];
+    }
+}
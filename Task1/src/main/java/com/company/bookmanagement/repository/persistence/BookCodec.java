@@ -0,0 +1,115 @@
+package com.company.bookmanagement.repository.persistence;
+
+import com.company.bookmanagement.model.entity.Book;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/*
+ * Compact binary form of a book shared by the write-ahead log and snapshots. Books are
+ * always encoded in CURRENT_LAYOUT; the journal records which layout each stored book
+ * uses, so older files keep decoding after the layout changes.
+ */
+final class BookCodec {
+
+    // id, title, author, year, genre, createdAt, updatedAt
+    static final int LAYOUT_V1 = 1;
+    // LAYOUT_V1 followed by the version
+    static final int LAYOUT_V2 = 2;
+    static final int CURRENT_LAYOUT = LAYOUT_V2;
+
+    private BookCodec() {
+    }
+
+    static byte[] encode(Book book) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(book.getId());
+            writeString(out, book.getTitle());
+            writeString(out, book.getAuthor());
+            out.writeBoolean(book.getYear() != null);
+            if (book.getYear() != null) {
+                out.writeInt(book.getYear());
+            }
+            writeString(out, book.getGenre());
+            writeTime(out, book.getCreatedAt());
+            writeTime(out, book.getUpdatedAt());
+            out.writeLong(book.getVersion() == null ? 0 : book.getVersion());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Book decode(byte[] data) {
+        return decode(data, CURRENT_LAYOUT);
+    }
+
+    static Book decode(byte[] data, int layout) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return Book.builder()
+                    .id(in.readLong())
+                    .title(readString(in))
+                    .author(readString(in))
+                    .year(in.readBoolean() ? in.readInt() : null)
+                    .genre(readString(in))
+                    .createdAt(readTime(in))
+                    .updatedAt(readTime(in))
+                    // Every stored book has been saved at least once
+                    .version(layout >= LAYOUT_V2 ? readVersion(in) : Long.valueOf(1L))
+                    .build();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static long idOf(byte[] data) {
+        long id = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            id = (id << 8) | (data[i] & 0xFF);
+        }
+        return id;
+    }
+
+    private static Long readVersion(DataInputStream in) throws IOException {
+        long version = in.readLong();
+        return version == 0 ? null : version;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.bookmanagement.repository.persistence;
+
+import com.company.bookmanagement.model.entity.Book;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Durable record of repository writes. Records are appended while the repository
+ * holds the write for that ID, so the journal sees the writes to one book in the
+ * order they were applied. The returned future completes once the record is on disk;
+ * callers wait for it after releasing the ID.
+ */
+public interface BookJournal {
+
+    BookJournal NONE = new BookJournal() {
+        private final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+        @Override
+        public long replay(Consumer<Book> saved, LongConsumer deleted) {
+            return 0;
+        }
+
+        @Override
+        public CompletableFuture<?> recordSaved(Book book) {
+            return done;
+        }
+
+        @Override
+        public CompletableFuture<?> recordDeleted(Long id) {
+            return done;
+        }
+    };
+
+    /**
+     * Feeds the persisted state back to the repository and starts accepting records.
+     * Must be called once, before the first record.
+     *
+     * @return the highest book ID the journal has seen
+     */
+    long replay(Consumer<Book> saved, LongConsumer deleted);
+
+    /**
+     * Throws StorageException if records can no longer be made durable, because an
+     * earlier write failed or the journal was closed. Checked before a write is applied,
+     * so a journal failure does not leave writes visible that were never recorded.
+     */
+    default void checkWritable() {
+    }
+
+    CompletableFuture<?> recordSaved(Book book);
+
+    CompletableFuture<?> recordDeleted(Long id);
+}
@@ -0,0 +1,525 @@
+package com.company.bookmanagement.repository.persistence;
+
+import com.company.bookmanagement.exception.StorageException;
+import com.company.bookmanagement.model.entity.Book;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/*
+ * Layout of the journal directory:
+ *
+ *   books.snapshot      full state up to and including segment N, written atomically
+ *   wal-<n>.log         append-only segments; every frame is [length][crc32][type][payload]
+ *
+ * A single writer thread drains the queue, writes everything it finds with one
+ * gathering write and forces the file once, so concurrent writers share an fsync.
+ * Compaction never touches the live map: it rotates to a new segment and folds the
+ * previous snapshot and the closed segments into a new snapshot. Lifecycle and
+ * compaction are serialized with a ReentrantLock rather than a monitor, so a virtual
+ * thread waiting on file I/O in there does not pin its carrier.
+ */
+@Slf4j
+public class FileBookJournal implements BookJournal, AutoCloseable {
+
+    private static final String SNAPSHOT_FILE = "books.snapshot";
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int SNAPSHOT_MAGIC = 0x424B534E;
+    // Version 1 snapshots hold books in BookCodec.LAYOUT_V1; still read, never written
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int MAX_FRAME_LENGTH = 1 << 20;
+    // Saved records in BookCodec.LAYOUT_V1, from before books had versions; still read, never written
+    private static final byte SAVED_V1 = 1;
+    private static final byte SAVED = 3;
+    private static final byte DELETED = 2;
+
+    private final Path directory;
+    private final int maxBatchSize;
+    private final Duration snapshotInterval;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    // Owned by the writer thread once started
+    private FileChannel segment;
+    private long segmentNumber;
+    private long segmentBytes;
+    // Set by the writer thread; read by writers to fail fast instead of queueing doomed records
+    private volatile IOException failure;
+    // Set once the writer thread has exited; entries queued after that are failed, not dropped
+    private volatile boolean stopped;
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private Thread writer;
+    private ScheduledExecutorService compactor;
+
+    public FileBookJournal(Path directory, int maxBatchSize, Duration snapshotInterval) {
+        this.directory = directory;
+        this.maxBatchSize = maxBatchSize;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public long replay(Consumer<Book> saved, LongConsumer deleted) {
+        lifecycleLock.lock();
+        try {
+            return replayLocked(saved, deleted);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    private long replayLocked(Consumer<Book> saved, LongConsumer deleted) {
+        if (writer != null) {
+            throw new IllegalStateException("Journal already started");
+        }
+        long maxId;
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+            RecordVisitor visitor = new RecordVisitor() {
+                @Override
+                public void saved(byte[] book, int layout) {
+                    saved.accept(BookCodec.decode(book, layout));
+                }
+
+                @Override
+                public void deleted(long id) {
+                    deleted.accept(id);
+                }
+            };
+
+            SnapshotHeader header = readSnapshot(visitor);
+            maxId = header.maxId();
+            List<Long> segments = listSegments();
+            long lastSegment = header.lastSegment();
+            for (long number : segments) {
+                if (number > header.lastSegment()) {
+                    maxId = Math.max(maxId, readSegment(number, visitor));
+                }
+                lastSegment = Math.max(lastSegment, number);
+            }
+            log.info("Replayed journal in {} ms ({} segments after snapshot)",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    segments.stream().filter(number -> number > header.lastSegment()).count());
+
+            // Never append to a segment that may end in a torn frame
+            openSegment(lastSegment + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not replay book journal in " + directory, ex);
+        }
+
+        writer = Thread.ofPlatform().name("book-journal-writer").daemon().start(this::writeLoop);
+        if (!snapshotInterval.isZero()) {
+            compactor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("book-journal-compactor").daemon().factory());
+            compactor.scheduleWithFixedDelay(this::compactQuietly,
+                    snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return maxId;
+    }
+
+    @Override
+    public void checkWritable() {
+        IOException failed = failure;
+        if (failed != null) {
+            throw new StorageException(failed);
+        }
+        if (stopped) {
+            throw new StorageException(new ClosedChannelException());
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> recordSaved(Book book) {
+        byte[] encoded = BookCodec.encode(book);
+        ByteBuffer payload = ByteBuffer.allocate(1 + encoded.length).put(SAVED).put(encoded);
+        return append(payload.array());
+    }
+
+    @Override
+    public CompletableFuture<?> recordDeleted(Long id) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES).put(DELETED).putLong(id);
+        return append(payload.array());
+    }
+
+    /**
+     * Folds the current snapshot and all closed segments into a new snapshot and
+     * deletes those segments. Runs on the compactor schedule; safe to call directly.
+     */
+    public void compact() throws IOException {
+        lifecycleLock.lock();
+        try {
+            compactLocked();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    private void compactLocked() throws IOException {
+        long closed;
+        try {
+            closed = submit(Entry.Kind.ROTATE, null).join();
+        } catch (CompletionException ex) {
+            throw new IOException("Could not rotate journal segment", ex.getCause());
+        }
+        if (closed < 0) {
+            return;
+        }
+
+        Map<Long, byte[]> books = new HashMap<>();
+        RecordVisitor visitor = new RecordVisitor() {
+            @Override
+            public void saved(byte[] book, int layout) {
+                // The new snapshot is written in the current layout only
+                books.put(BookCodec.idOf(book), layout == BookCodec.CURRENT_LAYOUT
+                        ? book : BookCodec.encode(BookCodec.decode(book, layout)));
+            }
+
+            @Override
+            public void deleted(long id) {
+                books.remove(id);
+            }
+        };
+        SnapshotHeader header = readSnapshot(visitor);
+        long maxId = header.maxId();
+        List<Long> folded = new ArrayList<>();
+        for (long number : listSegments()) {
+            if (number > header.lastSegment() && number <= closed) {
+                maxId = Math.max(maxId, readSegment(number, visitor));
+                folded.add(number);
+            }
+        }
+
+        writeSnapshot(new SnapshotHeader(closed, maxId), books.values());
+        for (long number : listSegments()) {
+            if (number <= closed) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+        log.info("Compacted journal: {} books, folded segments {}", books.size(), folded);
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        Thread stopping;
+        lifecycleLock.lock();
+        try {
+            stopping = writer;
+            writer = null;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        if (stopping != null) {
+            // Fails instead of blocking if the writer already exited
+            submit(Entry.Kind.CLOSE, null).exceptionally(ex -> -1L).join();
+            try {
+                stopping.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private CompletableFuture<Long> append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(2 * Integer.BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+        return submit(Entry.Kind.WRITE, frame);
+    }
+
+    private CompletableFuture<Long> submit(Entry.Kind kind, ByteBuffer frame) {
+        Entry entry = new Entry(kind, frame, new CompletableFuture<>());
+        queue.add(entry);
+        // Checked after adding: either the exiting writer drains this entry, or we see it has stopped
+        if (stopped) {
+            failQueued();
+        }
+        return entry.done();
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+        try {
+            boolean running = true;
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                running = process(batch);
+                batch.clear();
+            }
+        } finally {
+            stopped = true;
+            // Entries behind CLOSE in the last batch, or racing shutdown, would otherwise wait forever
+            for (Entry entry : batch) {
+                entry.done().completeExceptionally(new ClosedChannelException());
+            }
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            entry.done().completeExceptionally(new ClosedChannelException());
+        }
+    }
+
+    private boolean process(List<Entry> batch) {
+        List<Entry> pending = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            switch (entry.kind()) {
+                case WRITE -> pending.add(entry);
+                case ROTATE -> {
+                    commit(pending);
+                    try {
+                        entry.done().complete(rotateSegment());
+                    } catch (IOException ex) {
+                        entry.done().completeExceptionally(ex);
+                    }
+                }
+                case CLOSE -> {
+                    commit(pending);
+                    try {
+                        segment.close();
+                    } catch (IOException ex) {
+                        log.warn("Could not close journal segment {}", segmentNumber, ex);
+                    }
+                    entry.done().complete(segmentNumber);
+                    return false;
+                }
+            }
+        }
+        commit(pending);
+        return true;
+    }
+
+    // One gathering write and one force for everything that queued up during the last fsync
+    private void commit(List<Entry> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            ByteBuffer[] frames = new ByteBuffer[pending.size()];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = pending.get(i).frame();
+            }
+            long remaining = 0;
+            for (ByteBuffer frame : frames) {
+                remaining += frame.remaining();
+            }
+            long written = remaining;
+            while (remaining > 0) {
+                remaining -= segment.write(frames);
+            }
+            segment.force(false);
+            segmentBytes += written;
+            for (Entry entry : pending) {
+                entry.done().complete(segmentNumber);
+            }
+        } catch (IOException ex) {
+            if (failure == null) {
+                log.error("Book journal write failed, further writes will be rejected", ex);
+                failure = ex;
+            }
+            for (Entry entry : pending) {
+                entry.done().completeExceptionally(ex);
+            }
+        }
+        pending.clear();
+    }
+
+    // Returns the closed segment, or -1 if the current one is still empty
+    private long rotateSegment() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (segmentBytes == 0) {
+            return -1;
+        }
+        long closed = segmentNumber;
+        segment.force(true);
+        segment.close();
+        openSegment(closed + 1);
+        return closed;
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentNumber = number;
+        segmentBytes = 0;
+    }
+
+    // Returns the highest ID seen; a frame that is truncated or fails its checksum ends the segment
+    private long readSegment(long number, RecordVisitor visitor) throws IOException {
+        Path path = segmentPath(number);
+        long maxId = 0;
+        long frames = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException ex) {
+                    break;
+                }
+                try {
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > MAX_FRAME_LENGTH) {
+                        throw new StreamCorruptedException("Invalid frame length " + length);
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        throw new StreamCorruptedException("Checksum mismatch");
+                    }
+                    byte[] body = Arrays.copyOfRange(payload, 1, payload.length);
+                    long id;
+                    if (payload[0] == SAVED || payload[0] == SAVED_V1) {
+                        id = BookCodec.idOf(body);
+                        visitor.saved(body, payload[0] == SAVED ? BookCodec.CURRENT_LAYOUT : BookCodec.LAYOUT_V1);
+                    } else if (payload[0] == DELETED) {
+                        id = ByteBuffer.wrap(body).getLong();
+                        visitor.deleted(id);
+                    } else {
+                        throw new StreamCorruptedException("Unknown record type " + payload[0]);
+                    }
+                    maxId = Math.max(maxId, id);
+                    frames++;
+                } catch (EOFException | StreamCorruptedException ex) {
+                    log.warn("Journal segment {} ends in a damaged frame after {} records, ignoring the rest: {}",
+                            path.getFileName(), frames, ex.getMessage());
+                    break;
+                }
+            }
+        }
+        return maxId;
+    }
+
+    private SnapshotHeader readSnapshot(RecordVisitor visitor) throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return new SnapshotHeader(0, 0);
+        }
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new StreamCorruptedException("Not a book snapshot: " + path);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION && version != 1) {
+                throw new StreamCorruptedException("Unsupported snapshot version " + version + ": " + path);
+            }
+            int layout = version == SNAPSHOT_VERSION ? BookCodec.CURRENT_LAYOUT : BookCodec.LAYOUT_V1;
+            SnapshotHeader header = new SnapshotHeader(in.readLong(), in.readLong());
+            long count = in.readLong();
+            for (long i = 0; i < count; i++) {
+                byte[] book = new byte[in.readInt()];
+                in.readFully(book);
+                visitor.saved(book, layout);
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new StreamCorruptedException("Snapshot checksum mismatch: " + path);
+            }
+            return header;
+        }
+    }
+
+    // Written to a temporary file and moved into place, so a crash leaves the old snapshot intact
+    private void writeSnapshot(SnapshotHeader header, Collection<byte[]> books) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                     new BufferedOutputStream(file, 1 << 16), crc))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(header.lastSegment());
+            out.writeLong(header.maxId());
+            out.writeLong(books.size());
+            for (byte[] book : books) {
+                out.writeInt(book.length);
+                out.write(book);
+            }
+            out.writeLong(crc.getValue());
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception ex) {
+            log.error("Book journal compaction failed", ex);
+        }
+    }
+
+    private interface RecordVisitor {
+        void saved(byte[] book, int layout);
+
+        void deleted(long id);
+    }
+
+    private record SnapshotHeader(long lastSegment, long maxId) {
+    }
+
+    private record Entry(Kind kind, ByteBuffer frame, CompletableFuture<Long> done) {
+        enum Kind {
+            WRITE,
+            ROTATE,
+            CLOSE
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.company.bookmanagement.search;
+
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inverted index over book titles and authors, updated incrementally on every write.
+ * <p>
+ * Each term maps to the IDs of the books containing it, with a bit mask of the fields
+ * it occurs in. Queries are conjunctive: every token must match, and the last token
+ * also matches as a prefix so partially typed words find results. Evaluation starts
+ * from the rarest token and probes the other postings by hash lookup, so the cost is
+ * bounded by the smallest posting list rather than the catalog size.
+ * <p>
+ * When every token is common that list can still hold most of the catalog, so at most
+ * maxCandidates books from it are scored. Past that the result is the best of the
+ * books scored, not of every match: a query made only of common words returns good
+ * matches quickly rather than the best ones slowly, and more specific queries, whose
+ * rarest token matches fewer books, are exact. The same goes for a last token that
+ * expands to more than MAX_PREFIX_EXPANSIONS terms. Either cut is reported through
+ * SearchHits.truncated() so callers can tell. Scoring also stops once the results are
+ * full and every one has the highest score a book can reach for the query; ties among
+ * those are then broken by posting order instead of by ID.
+ */
+@Component
+public class BookSearchIndex implements BookChangeListener {
+
+    private static final byte TITLE = 1;
+    private static final byte AUTHOR = 2;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double AUTHOR_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.5;
+    // Caps the work done for very short prefixes such as a single letter
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // Keeps a query of common words well under a millisecond at a million books
+    static final int MAX_CANDIDATES = 10_000;
+
+    private final ConcurrentMap<String, ConcurrentMap<Long, Byte>> postings = new ConcurrentHashMap<>();
+    // Sorted copy of the term dictionary, used for prefix expansion
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+    private final AtomicLong documentCount = new AtomicLong();
+    private final int maxCandidates;
+
+    public BookSearchIndex() {
+        this(MAX_CANDIDATES);
+    }
+
+    BookSearchIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public void onSaved(Book previous, Book current) {
+        Map<String, Byte> before = previous == null ? Map.of() : fieldsByTerm(previous);
+        Map<String, Byte> after = fieldsByTerm(current);
+        Long id = current.getId();
+        for (Map.Entry<String, Byte> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey())) {
+                removePosting(entry.getKey(), id);
+            }
+        }
+        for (Map.Entry<String, Byte> entry : after.entrySet()) {
+            if (!entry.getValue().equals(before.get(entry.getKey()))) {
+                addPosting(entry.getKey(), id, entry.getValue());
+            }
+        }
+        if (previous == null) {
+            documentCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onDeleted(Book previous) {
+        for (String term : fieldsByTerm(previous).keySet()) {
+            removePosting(term, previous.getId());
+        }
+        documentCount.decrementAndGet();
+    }
+
+    public SearchHits search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(Tokenizer.tokenize(query));
+        if (tokens.isEmpty() || limit <= 0) {
+            return SearchHits.NONE;
+        }
+
+        List<Clause> clauses = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean last = i == tokens.size() - 1;
+            Clause clause = last ? prefixClause(tokens.get(i)) : exactClause(tokens.get(i));
+            if (clause.size == 0) {
+                return SearchHits.NONE;
+            }
+            clauses.add(clause);
+        }
+        boolean truncated = clauses.get(clauses.size() - 1).capped;
+        clauses.sort(Comparator.comparingLong(clause -> clause.size));
+
+        double bestPossible = 0;
+        for (Clause clause : clauses) {
+            bestPossible += clause.maxWeight * (TITLE_WEIGHT + AUTHOR_WEIGHT);
+        }
+
+        PriorityQueue<ScoredId> top = new PriorityQueue<>(limit + 1);
+        Set<Long> seen = clauses.get(0).terms.size() > 1 ? new HashSet<>() : null;
+        int candidates = 0;
+        scan:
+        for (TermPostings driver : clauses.get(0).terms) {
+            for (Long id : driver.ids.keySet()) {
+                if (seen != null && !seen.add(id)) {
+                    continue;
+                }
+                if (candidates++ == maxCandidates) {
+                    truncated = true;
+                    break scan;
+                }
+                double score = score(id, clauses);
+                if (score > 0) {
+                    top.add(new ScoredId(id, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                    if (top.size() == limit && top.peek().score >= bestPossible) {
+                        break scan;
+                    }
+                }
+            }
+        }
+
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().id);
+        }
+        Collections.reverse(result);
+        return new SearchHits(result, truncated);
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    private double score(Long id, List<Clause> clauses) {
+        double total = 0;
+        for (Clause clause : clauses) {
+            double best = 0;
+            for (TermPostings term : clause.terms) {
+                Byte fields = term.ids.get(id);
+                if (fields != null) {
+                    best = Math.max(best, term.weight * fieldWeight(fields));
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private Clause exactClause(String token) {
+        ConcurrentMap<Long, Byte> ids = postings.get(token);
+        if (ids == null) {
+            return new Clause(List.of(), false);
+        }
+        return new Clause(List.of(new TermPostings(ids, idf(ids.size()))), false);
+    }
+
+    private Clause prefixClause(String token) {
+        List<TermPostings> matches = new ArrayList<>();
+        boolean capped = false;
+        for (String term : terms.tailSet(token, true)) {
+            if (!term.startsWith(token)) {
+                break;
+            }
+            if (matches.size() >= MAX_PREFIX_EXPANSIONS) {
+                capped = true;
+                break;
+            }
+            ConcurrentMap<Long, Byte> ids = postings.get(term);
+            if (ids != null) {
+                double weight = idf(ids.size()) * (term.length() == token.length() ? 1.0 : PREFIX_WEIGHT);
+                matches.add(new TermPostings(ids, weight));
+            }
+        }
+        return new Clause(matches, capped);
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (double) Math.max(documentCount.get(), 1) / Math.max(documentFrequency, 1));
+    }
+
+    private static double fieldWeight(byte fields) {
+        double weight = 0;
+        if ((fields & TITLE) != 0) {
+            weight += TITLE_WEIGHT;
+        }
+        if ((fields & AUTHOR) != 0) {
+            weight += AUTHOR_WEIGHT;
+        }
+        return weight;
+    }
+
+    private void addPosting(String term, Long id, byte fields) {
+        postings.compute(term, (key, ids) -> {
+            ConcurrentMap<Long, Byte> target = ids;
+            if (target == null) {
+                target = new ConcurrentHashMap<>();
+                terms.add(key);
+            }
+            target.put(id, fields);
+            return target;
+        });
+    }
+
+    private void removePosting(String term, Long id) {
+        postings.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                terms.remove(key);
+                return null;
+            }
+            return ids;
+        });
+    }
+
+    private static Map<String, Byte> fieldsByTerm(Book book) {
+        Map<String, Byte> fields = new HashMap<>();
+        for (String token : Tokenizer.tokenize(book.getTitle())) {
+            fields.merge(token, TITLE, (a, b) -> (byte) (a | b));
+        }
+        for (String token : Tokenizer.tokenize(book.getAuthor())) {
+            fields.merge(token, AUTHOR, (a, b) -> (byte) (a | b));
+        }
+        return fields;
+    }
+
+    private record TermPostings(ConcurrentMap<Long, Byte> ids, double weight) {
+    }
+
+    private static final class Clause {
+        private final List<TermPostings> terms;
+        private final long size;
+        private final double maxWeight;
+        // More terms matched the prefix than were expanded
+        private final boolean capped;
+
+        private Clause(List<TermPostings> terms, boolean capped) {
+            this.terms = terms;
+            this.capped = capped;
+            long total = 0;
+            double max = 0;
+            for (TermPostings term : terms) {
+                total += term.ids.size();
+                max = Math.max(max, term.weight);
+            }
+            this.size = total;
+            this.maxWeight = max;
+        }
+    }
+
+    private record ScoredId(Long id, double score) implements Comparable<ScoredId> {
+        // Lowest score first so the heap can evict it; ties keep the lower ID
+        @Override
+        public int compareTo(ScoredId other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.bookmanagement.search;
+
+import java.util.List;
+
+/**
+ * Matching book IDs, best match first. Truncated means the search stopped before
+ * looking at every match, because the query's rarest token matched more books than
+ * the index scores or its last token expanded to more terms than it tries, so a
+ * better match may exist outside the results.
+ */
+public record SearchHits(List<Long> ids, boolean truncated) {
+
+    public static final SearchHits NONE = new SearchHits(List.of(), false);
+}
@@ -0,0 +1,15 @@
+package com.company.bookmanagement.service;
+
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    ImportSummary importBooks(InputStream input, Format format) throws IOException;
+}
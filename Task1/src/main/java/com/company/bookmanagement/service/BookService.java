@@ -1,15 +1,34 @@
 package com.company.bookmanagement.service;
 
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookPage;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
 
 import java.util.List;
 
 public interface BookService {
     BookResponse createBook(CreateBookRequest request);
-    List<BookResponse> getAllBooks();
+    BookPage getBooks(BookFilter filter, Long after, int limit);
     BookResponse getBookById(Long id);
+    // Current version without loading or mapping the book, for conditional GETs
+    long getBookVersion(Long id);
+    BookSearchResult searchBooks(String query, int limit);
     BookResponse updateBook(Long id, UpdateBookRequest request);
+    // expectedVersion comes from If-Match; null means the change is unconditional
+    BookResponse updateBook(Long id, UpdateBookRequest request, Long expectedVersion);
     BookResponse deleteBook(Long id);
+    BookResponse deleteBook(Long id, Long expectedVersion);
+    BatchResponse createBooks(BatchCreateBooksRequest request);
+    BatchResponse updateBooks(BatchUpdateBooksRequest request);
+    BatchResponse deleteBooks(BatchDeleteBooksRequest request);
+    // recompute counts the whole catalog instead of reading the maintained counters
+    CatalogStats getStats(boolean recompute);
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.company.bookmanagement.service.impl;
+
+import com.company.bookmanagement.exception.ErrorCode;
+import com.company.bookmanagement.mapper.BookMapper;
+import com.company.bookmanagement.model.dto.request.CreateBookRequest;
+import com.company.bookmanagement.model.dto.response.ImportError;
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.service.BookImportService;
+import com.company.bookmanagement.util.Constants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/*
+ * Reads one record at a time from the request stream and stores accepted books in
+ * chunks of IMPORT_CHUNK_SIZE. The next record is only read after the current chunk
+ * has been written, so a slow store pushes back on the client through TCP flow
+ * control and heap use is bounded by the chunk size, not the input size.
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookMapper bookMapper,
+                                 Validator validator,
+                                 ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(CreateBookRequest.class);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(CreateBookRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @Override
+    public ImportSummary importBooks(InputStream input, Format format) throws IOException {
+        log.info("Starting {} import", format);
+
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+        List<Book> chunk = new ArrayList<>(Constants.IMPORT_CHUNK_SIZE);
+        List<ImportError> errors = new ArrayList<>();
+        long accepted = 0;
+        long rejected = 0;
+        long record = 0;
+        boolean aborted = false;
+
+        try (MappingIterator<CreateBookRequest> records = reader.readValues(input)) {
+            while (true) {
+                CreateBookRequest request;
+                // Counted before reading: hasNextValue() already parses, so its errors belong to this record
+                record++;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    request = records.nextValue();
+                } catch (MismatchedInputException ex) {
+                    // Well-formed record with a bad value; the iterator resyncs to the next record
+                    rejected++;
+                    addError(errors, record, ErrorCode.INVALID_REQUEST_BODY, ex.getOriginalMessage(), null);
+                    continue;
+                } catch (JsonParseException ex) {
+                    // Broken syntax: there is no reliable record boundary to resume from
+                    rejected++;
+                    aborted = true;
+                    addError(errors, record, ErrorCode.INVALID_REQUEST_BODY,
+                            "Malformed input, import stopped: " + ex.getOriginalMessage(), null);
+                    break;
+                }
+
+                Map<String, String> fieldErrors = validate(request);
+                if (!fieldErrors.isEmpty()) {
+                    rejected++;
+                    addError(errors, record, ErrorCode.VALIDATION_ERROR, ErrorCode.VALIDATION_ERROR.getMessage(),
+                            fieldErrors);
+                    continue;
+                }
+
+                chunk.add(bookMapper.toEntity(request));
+                if (chunk.size() == Constants.IMPORT_CHUNK_SIZE) {
+                    accepted += flush(chunk);
+                }
+            }
+            accepted += flush(chunk);
+        } catch (IOException | RuntimeException ex) {
+            // Keep what was read before a failure, so a retry can skip the accepted records,
+            // without letting a failing save hide why the import failed
+            try {
+                flush(chunk);
+            } catch (RuntimeException flushFailure) {
+                ex.addSuppressed(flushFailure);
+            }
+            throw ex;
+        }
+
+        log.info("{} import finished: {} accepted, {} rejected", format, accepted, rejected);
+
+        return ImportSummary.builder()
+                .accepted(accepted)
+                .rejected(rejected)
+                .aborted(aborted)
+                .errors(errors)
+                .build();
+    }
+
+    private int flush(List<Book> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // Cleared before saving, so a chunk whose save failed is not saved again after the failure
+        List<Book> books = List.copyOf(chunk);
+        chunk.clear();
+        bookRepository.saveAll(books);
+        return books.size();
+    }
+
+    private Map<String, String> validate(CreateBookRequest request) {
+        Set<ConstraintViolation<CreateBookRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ConstraintViolation<CreateBookRequest> violation : violations) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return fieldErrors;
+    }
+
+    private void addError(List<ImportError> errors, long record, ErrorCode errorCode, String message,
+                          Map<String, String> fieldErrors) {
+        if (errors.size() < Constants.IMPORT_MAX_REPORTED_ERRORS) {
+            errors.add(ImportError.builder()
+                    .record(record)
+                    .errorCode(errorCode.getCode())
+                    .message(message)
+                    .fieldErrors(fieldErrors)
+                    .build());
+        }
+    }
+}
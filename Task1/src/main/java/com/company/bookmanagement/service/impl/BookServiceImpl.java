@@ -1,18 +1,38 @@
 package com.company.bookmanagement.service.impl;
 
 import com.company.bookmanagement.exception.BookNotFoundException;
+import com.company.bookmanagement.exception.BookPreconditionFailedException;
+import com.company.bookmanagement.exception.BookVersionConflictException;
+import com.company.bookmanagement.exception.ErrorCode;
 import com.company.bookmanagement.mapper.BookMapper;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBookItem;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.BatchItemResult;
+import com.company.bookmanagement.model.dto.response.BatchItemStatus;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookPage;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
 import com.company.bookmanagement.model.entity.Book;
 import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.search.BookSearchIndex;
+import com.company.bookmanagement.search.SearchHits;
 import com.company.bookmanagement.service.BookService;
+import com.company.bookmanagement.stats.BookStatistics;
+import com.company.bookmanagement.util.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -21,32 +41,44 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookStatistics bookStatistics;
+    private final Validator validator;
     @Override
     public BookResponse createBook(CreateBookRequest request) {
-        log.info("Creating new book with title: '{}'", request.getTitle());
+        log.debug("Creating new book with title: '{}'", request.getTitle());
 
         Book book = bookMapper.toEntity(request);
 
         Book savedBook = bookRepository.save(book);
 
-        log.info("Book created successfully with ID: {}", savedBook.getId());
+        log.debug("Book created successfully with ID: {}", savedBook.getId());
 
         return bookMapper.toResponse(savedBook);
     }
 
     @Override
-    public List<BookResponse> getAllBooks() {
-        log.info("Fetching all books");
+    public BookPage getBooks(BookFilter filter, Long after, int limit) {
+        log.debug("Fetching up to {} books after ID: {} matching {}", limit, after, filter);
 
-        List<Book> books = bookRepository.findAll();
+        // Fetch one extra row to find out whether another page follows
+        List<Book> books = bookRepository.findPage(filter, after, limit + 1);
+        Long nextCursor = null;
+        if (books.size() > limit) {
+            books = books.subList(0, limit);
+            nextCursor = books.get(limit - 1).getId();
+        }
 
-        log.info("Found {} books", books.size());
+        log.debug("Found {} books", books.size());
 
-        return bookMapper.toResponseList(books);
+        return BookPage.builder()
+                .items(bookMapper.toResponseList(books))
+                .nextCursor(nextCursor)
+                .build();
     }
     @Override
     public BookResponse getBookById(Long id) {
-        log.info("Fetching book with ID: {}", id);
+        log.debug("Fetching book with ID: {}", id);
 
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> {
@@ -60,41 +92,281 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public BookResponse updateBook(Long id, UpdateBookRequest request) {
-        log.info("Updating book with ID: {}", id);
-
-        // Find existing book
-        Book existingBook = bookRepository.findById(id)
+    public long getBookVersion(Long id) {
+        return bookRepository.findVersion(id)
                 .orElseThrow(() -> {
-                    log.warn("Cannot update - book not found with ID: {}", id);
+                    log.warn("Book not found with ID: {}", id);
                     return new BookNotFoundException(id);
                 });
-        bookMapper.updateEntityFromRequest(request, existingBook);
+    }
+
+    @Override
+    public BookSearchResult searchBooks(String query, int limit) {
+        log.debug("Searching books for: '{}'", query);
+
+        SearchHits hits = bookSearchIndex.search(query, limit);
+        List<Book> books = new ArrayList<>(hits.ids().size());
+        for (Long id : hits.ids()) {
+            // A book may have been deleted since the index was read
+            bookRepository.findById(id).ifPresent(books::add);
+        }
+
+        log.debug("Found {} books matching '{}' (truncated: {})", books.size(), query, hits.truncated());
+
+        return BookSearchResult.builder()
+                .items(bookMapper.toResponseList(books))
+                .truncated(hits.truncated())
+                .build();
+    }
+
+    @Override
+    public BookResponse updateBook(Long id, UpdateBookRequest request) {
+        return updateBook(id, request, null);
+    }
+
+    @Override
+    public BookResponse updateBook(Long id, UpdateBookRequest request, Long expectedVersion) {
+        log.debug("Updating book with ID: {}", id);
 
-        Book updatedBook = bookRepository.save(existingBook);
+        Book updatedBook = applyUpdate(id, request, expectedVersion);
 
-        log.info("Book updated successfully: {}", id);
+        log.debug("Book updated successfully: {}", id);
 
         return bookMapper.toResponse(updatedBook);
     }
 
     @Override
     public BookResponse deleteBook(Long id) {
-        log.info("Deleting book with ID: {}", id);
-        Book bookToDelete = bookRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Cannot delete - book not found with ID: {}", id);
-                    return new BookNotFoundException(id);
-                });
+        return deleteBook(id, null);
+    }
+
+    @Override
+    public BookResponse deleteBook(Long id, Long expectedVersion) {
+        log.debug("Deleting book with ID: {}", id);
+        for (int attempt = 1; ; attempt++) {
+            Book bookToDelete = bookRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.warn("Cannot delete - book not found with ID: {}", id);
+                        return new BookNotFoundException(id);
+                    });
+            checkPrecondition(bookToDelete, expectedVersion);
+
+            // Create response before deletion
+            BookResponse response = bookMapper.toResponse(bookToDelete);
+
+            try {
+                if (expectedVersion == null) {
+                    bookRepository.deleteById(id);
+                } else {
+                    bookRepository.deleteById(id, expectedVersion);
+                }
+            } catch (BookVersionConflictException ex) {
+                // Changed after the precondition was checked; the next read reports it
+                if (attempt == Constants.MAX_UPDATE_ATTEMPTS) {
+                    throw ex;
+                }
+                continue;
+            }
+
+            log.debug("Book deleted successfully: {}", id);
+
+            return response;
+        }
+    }
+
+    @Override
+    public BatchResponse createBooks(BatchCreateBooksRequest request) {
+        List<CreateBookRequest> items = request.getItems();
+        log.debug("Creating batch of {} books", items.size());
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Book> books = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, String> fieldErrors = validate(items.get(i));
+            if (fieldErrors.isEmpty()) {
+                books.add(bookMapper.toEntity(items.get(i)));
+                positions.add(i);
+            } else {
+                results[i] = invalid(i, null, fieldErrors);
+            }
+        }
 
-        // Create response before deletion
-        BookResponse response = bookMapper.toResponse(bookToDelete);
+        bookRepository.saveAll(books);
+        for (int i = 0; i < books.size(); i++) {
+            int index = positions.get(i);
+            results[index] = BatchItemResult.builder()
+                    .index(index)
+                    .id(books.get(i).getId())
+                    .status(BatchItemStatus.CREATED)
+                    .build();
+        }
+
+        return toBatchResponse(results);
+    }
+
+    @Override
+    public BatchResponse updateBooks(BatchUpdateBooksRequest request) {
+        List<BatchUpdateBookItem> items = request.getItems();
+        log.debug("Updating batch of {} books", items.size());
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            BatchUpdateBookItem item = items.get(i);
+            Map<String, String> fieldErrors = new HashMap<>();
+            if (item.getId() == null) {
+                fieldErrors.put("id", "id is required");
+            }
+            if (item.getChanges() == null) {
+                fieldErrors.put("changes", "changes is required");
+            } else {
+                fieldErrors.putAll(validate(item.getChanges()));
+            }
+            if (!fieldErrors.isEmpty()) {
+                results[i] = invalid(i, item.getId(), fieldErrors);
+                continue;
+            }
+
+            try {
+                applyUpdate(item.getId(), item.getChanges(), null);
+            } catch (BookNotFoundException ex) {
+                results[i] = notFound(i, item.getId());
+                continue;
+            } catch (BookVersionConflictException ex) {
+                // Still contended after every retry; earlier items are already applied, so report it here
+                results[i] = conflict(i, item.getId());
+                continue;
+            }
+            results[i] = BatchItemResult.builder()
+                    .index(i)
+                    .id(item.getId())
+                    .status(BatchItemStatus.UPDATED)
+                    .build();
+        }
+
+        return toBatchResponse(results);
+    }
+
+    @Override
+    public BatchResponse deleteBooks(BatchDeleteBooksRequest request) {
+        List<Long> ids = request.getIds();
+        log.debug("Deleting batch of {} books", ids.size());
+
+        Set<Long> deleted = new HashSet<>(bookRepository.deleteAllById(ids));
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            // remove() so that a repeated ID is only reported as deleted once
+            if (id != null && deleted.remove(id)) {
+                results[i] = BatchItemResult.builder()
+                        .index(i)
+                        .id(id)
+                        .status(BatchItemStatus.DELETED)
+                        .build();
+            } else {
+                results[i] = notFound(i, id);
+            }
+        }
+
+        return toBatchResponse(results);
+    }
+
+    @Override
+    public CatalogStats getStats(boolean recompute) {
+        if (recompute) {
+            log.debug("Recomputing catalog statistics");
+            return BookStatistics.recompute(bookRepository.findAll());
+        }
+        return bookStatistics.snapshot();
+    }
+
+    // Read, change a copy, compare-and-set; retried while other writes to the same book get in between
+    private Book applyUpdate(Long id, UpdateBookRequest changes, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            Book existingBook = bookRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.warn("Cannot update - book not found with ID: {}", id);
+                        return new BookNotFoundException(id);
+                    });
+            checkPrecondition(existingBook, expectedVersion);
+
+            // Stored books are shared snapshots, so apply the changes to a copy
+            Book changedBook = existingBook.toBuilder().build();
+            bookMapper.updateEntityFromRequest(changes, changedBook);
+            try {
+                return bookRepository.save(changedBook);
+            } catch (BookVersionConflictException ex) {
+                if (attempt == Constants.MAX_UPDATE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Book {} changed concurrently, retrying update", id);
+            }
+        }
+    }
+
+    private void checkPrecondition(Book book, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            log.warn("Precondition failed for book {}: expected version {}, found {}",
+                    book.getId(), expectedVersion, book.getVersion());
+            throw new BookPreconditionFailedException(book.getId(), book.getVersion());
+        }
+    }
+
+    private Map<String, String> validate(Object item) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return fieldErrors;
+    }
+
+    private BatchItemResult invalid(int index, Long id, Map<String, String> fieldErrors) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(BatchItemStatus.INVALID)
+                .errorCode(ErrorCode.VALIDATION_ERROR.getCode())
+                .fieldErrors(fieldErrors)
+                .build();
+    }
+
+    private BatchItemResult notFound(int index, Long id) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(BatchItemStatus.NOT_FOUND)
+                .errorCode(ErrorCode.BOOK_NOT_FOUND.getCode())
+                .build();
+    }
+
+    private BatchItemResult conflict(int index, Long id) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(BatchItemStatus.CONFLICT)
+                .errorCode(ErrorCode.BOOK_VERSION_CONFLICT.getCode())
+                .build();
+    }
 
-        // Delete from repository
-        bookRepository.deleteById(id);
+    private BatchResponse toBatchResponse(BatchItemResult[] results) {
+        int failed = 0;
+        for (BatchItemResult result : results) {
+            if (result.getErrorCode() != null) {
+                failed++;
+            }
+        }
 
-        log.info("Book deleted successfully: {}", id);
+        log.debug("Batch finished: {} succeeded, {} failed", results.length - failed, failed);
 
-        return response;
+        return BatchResponse.builder()
+                .total(results.length)
+                .succeeded(results.length - failed)
+                .failed(failed)
+                .results(Arrays.asList(results))
+                .build();
     }
 }
\ No newline at end of file
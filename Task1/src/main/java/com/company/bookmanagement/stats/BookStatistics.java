@@ -0,0 +1,126 @@
+package com.company.bookmanagement.stats;
+
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.dto.response.CatalogStats;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.BookChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Book counts by genre, author, decade and year, kept current on every write so the
+ * statistics endpoint reads a few counters instead of scanning the catalog.
+ * <p>
+ * Counters are {@link LongAdder}s, whose cells are striped across threads, so writers
+ * touching the same genre do not contend on one value. Groups whose count drops to
+ * zero keep their (zero) counter and are left out of snapshots. A snapshot taken during
+ * concurrent writes may count a book that is half way through a move between groups;
+ * {@link #recompute} gives an exact answer for a fixed list of books to check against.
+ */
+@Component
+public class BookStatistics implements BookChangeListener {
+
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> byGenre = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> byAuthor = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> byDecade = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+
+    @Override
+    public void onSaved(Book previous, Book current) {
+        if (previous == null) {
+            total.increment();
+        }
+        move(byGenre, genreOf(previous), genreOf(current));
+        move(byAuthor, authorOf(previous), authorOf(current));
+        move(byDecade, decadeOf(previous), decadeOf(current));
+        move(byYear, yearOf(previous), yearOf(current));
+    }
+
+    @Override
+    public void onDeleted(Book previous) {
+        total.decrement();
+        move(byGenre, genreOf(previous), null);
+        move(byAuthor, authorOf(previous), null);
+        move(byDecade, decadeOf(previous), null);
+        move(byYear, yearOf(previous), null);
+    }
+
+    public CatalogStats snapshot() {
+        return CatalogStats.builder()
+                .total(total.sum())
+                .byGenre(sums(byGenre))
+                .byAuthor(sums(byAuthor))
+                .byDecade(sums(byDecade))
+                .byYear(sums(byYear))
+                .build();
+    }
+
+    // Full recount on the common fork/join pool, for verifying the incremental counters
+    public static CatalogStats recompute(Collection<Book> books) {
+        return CatalogStats.builder()
+                .total(books.size())
+                .byGenre(count(books, BookStatistics::genreOf))
+                .byAuthor(count(books, BookStatistics::authorOf))
+                .byDecade(count(books, BookStatistics::decadeOf))
+                .byYear(count(books, BookStatistics::yearOf))
+                .build();
+    }
+
+    private static <K> void move(ConcurrentMap<K, LongAdder> counters, K from, K to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            counters.computeIfAbsent(from, key -> new LongAdder()).decrement();
+        }
+        if (to != null) {
+            counters.computeIfAbsent(to, key -> new LongAdder()).increment();
+        }
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> sums(Map<K, LongAdder> counters) {
+        Map<K, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long sum = counter.sum();
+            if (sum > 0) {
+                sums.put(key, sum);
+            }
+        });
+        return sums;
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> count(Collection<Book> books, Function<Book, K> key) {
+        return books.parallelStream()
+                .map(key)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum, TreeMap::new));
+    }
+
+    private static String genreOf(Book book) {
+        return book == null ? null : BookFilter.normalize(book.getGenre());
+    }
+
+    private static String authorOf(Book book) {
+        return book == null ? null : BookFilter.normalize(book.getAuthor());
+    }
+
+    private static Integer decadeOf(Book book) {
+        return book == null || book.getYear() == null ? null : Math.floorDiv(book.getYear(), 10) * 10;
+    }
+
+    private static Integer yearOf(Book book) {
+        return book == null ? null : book.getYear();
+    }
+}
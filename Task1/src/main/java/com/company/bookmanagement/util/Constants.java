@@ -10,6 +10,19 @@ public final class Constants {
     public static final int MAX_AUTHOR_LENGTH = 200;
     public static final int MIN_AUTHOR_LENGTH = 1;
     public static final int MAX_GENRE_LENGTH = 100;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int STREAM_CHUNK_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_UPDATE_ATTEMPTS = 16;
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+    public static final int IMPORT_MAX_REPORTED_ERRORS = 100;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
     public static final String API_BASE_PATH = "/api";
     public static final String BOOKS_PATH = "/books";
     public static final String BOOK_CREATED_SUCCESS = "Book created successfully";
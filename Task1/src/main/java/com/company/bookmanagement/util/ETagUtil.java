@@ -0,0 +1,64 @@
+package com.company.bookmanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ETagUtil {
+    // Versions start at 1, so this never matches a stored book
+    public static final long UNMATCHED_VERSION = 0L;
+
+    /*
+     * Book IDs and versions start over after a restart without persistence, and after
+     * deleteAll() resets the ID counter, so "<id>-<version>" alone can name a different
+     * book. Tags therefore carry an epoch that changes on every start and every reset,
+     * like the change feed's resume tokens. Seeded from the clock, so a later run never
+     * reuses an earlier run's epochs.
+     */
+    private static final AtomicLong EPOCH = new AtomicLong(System.currentTimeMillis());
+
+    private ETagUtil() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // Strong ETag of the form "<epoch>-<id>-<version>"
+    public static String etagOf(Long id, Long version) {
+        return "\"" + epoch() + "-" + id + "-" + version + "\"";
+    }
+
+    // Invalidates every tag handed out so far; called whenever book IDs may be reissued
+    public static void renewEpoch() {
+        EPOCH.incrementAndGet();
+    }
+
+    /**
+     * Turns an If-Match header into the version the client expects the book to have.
+     * Returns null when there is no precondition (no header or "*"), and
+     * UNMATCHED_VERSION when none of the listed tags can belong to this book in the
+     * current epoch.
+     * Weak tags never match, as If-Match uses strong comparison.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = epoch() + "-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException ex) {
+                    // Not one of our tags
+                }
+            }
+        }
+        return UNMATCHED_VERSION;
+    }
+
+    private static String epoch() {
+        return Long.toString(EPOCH.get(), 36);
+    }
+}
@@ -51,6 +51,22 @@ public final class ValidationUtil {
             );
         }
     }
+    public static void validatePageSize(int limit) {
+        if (limit < 1 || limit > Constants.MAX_PAGE_SIZE) {
+            throw new ValidationException(
+                    ErrorCode.INVALID_QUERY_PARAMETER,
+                    Map.of("limit", String.format("limit must be between 1 and %d", Constants.MAX_PAGE_SIZE))
+            );
+        }
+    }
+    public static void validateYearRange(Integer yearFrom, Integer yearTo) {
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new ValidationException(
+                    ErrorCode.INVALID_QUERY_PARAMETER,
+                    Map.of("yearFrom", "yearFrom must not be greater than yearTo")
+            );
+        }
+    }
     public static void throwIfErrors(Map<String, String> errors) {
         if (!errors.isEmpty()) {
             throw new ValidationException(errors);
@@ -0,0 +1,92 @@
+package com.company.bookmanagement.changes;
+
+import com.company.bookmanagement.exception.ChangeFeedExpiredException;
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.response.BookChangeEvent;
+import com.company.bookmanagement.model.dto.response.BookChangeType;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Book Change Log Tests")
+class BookChangeLogTest {
+
+    private BookChangeLog changeLog;
+    private InMemoryBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new BookChangeLog(new BookMapperImpl(), 4);
+        repository = new InMemoryBookRepository(List.of(changeLog));
+    }
+
+    private Book book(String title) {
+        return Book.builder().title(title).author("Author").build();
+    }
+
+    @Test
+    @DisplayName("Should number saves and deletes in order")
+    void shouldRecordChangesInOrder() {
+        long start = changeLog.head();
+        repository.save(book("First"));
+        repository.save(book("Second"));
+        repository.deleteById(1L);
+
+        List<BookChangeEvent> events = new ArrayList<>();
+        assertThat(changeLog.readAfter(start, events, 10)).isTrue();
+
+        assertThat(events).extracting(BookChangeEvent::getType)
+                .containsExactly(BookChangeType.SAVED, BookChangeType.SAVED, BookChangeType.DELETED);
+        assertThat(events).extracting(BookChangeEvent::getId).containsExactly(1L, 2L, 1L);
+        assertThat(events.get(0).getBook().getTitle()).isEqualTo("First");
+        assertThat(events.get(2).getBook()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resume after the change a token names")
+    void shouldResumeFromToken() {
+        repository.save(book("First"));
+        List<BookChangeEvent> events = new ArrayList<>();
+        changeLog.readAfter(0, events, 10);
+        String token = events.get(0).getToken();
+        repository.save(book("Second"));
+
+        events.clear();
+        changeLog.readAfter(changeLog.positionOf(token), events, 10);
+
+        assertThat(events).extracting(BookChangeEvent::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should report readers that were overrun by writers")
+    void shouldDetectOverrun() {
+        for (int i = 0; i < 6; i++) {
+            repository.save(book("Book " + i));
+        }
+
+        assertThat(changeLog.readAfter(0, new ArrayList<>(), 10)).isFalse();
+        assertThat(changeLog.readAfter(2, new ArrayList<>(), 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that are too old or from another run")
+    void shouldRejectExpiredTokens() {
+        for (int i = 0; i < 6; i++) {
+            repository.save(book("Book " + i));
+        }
+
+        assertThatThrownBy(() -> changeLog.positionOf(changeLog.tokenOf(1)))
+                .isInstanceOf(ChangeFeedExpiredException.class);
+        assertThatThrownBy(() -> changeLog.positionOf("otherrun-5"))
+                .isInstanceOf(ChangeFeedExpiredException.class);
+        assertThat(changeLog.positionOf(changeLog.tokenOf(5))).isEqualTo(5);
+    }
+}
@@ -1,9 +1,23 @@
 package com.company.bookmanagement.controller;
 
+import com.company.bookmanagement.cache.BookResponseCache;
+import com.company.bookmanagement.cache.ProjectedBookWriter;
+import com.company.bookmanagement.changes.BookChangeFeed;
+import com.company.bookmanagement.exception.BookPreconditionFailedException;
+import com.company.bookmanagement.idempotency.IdempotencyStore;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.BatchItemResult;
+import com.company.bookmanagement.model.dto.response.BatchItemStatus;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookPage;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
+import com.company.bookmanagement.service.BookImportService;
 import com.company.bookmanagement.service.BookService;
+import com.company.bookmanagement.util.ETagUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +26,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDateTime;
@@ -21,15 +38,22 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
+@Import({BookResponseCache.class, ProjectedBookWriter.class, IdempotencyStore.class})
 @DisplayName("Book Controller Tests")
 class BookControllerTest {
 
@@ -42,6 +66,12 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookImportService bookImportService;
+
+    @MockBean
+    private BookChangeFeed bookChangeFeed;
+
     private BookResponse sampleBookResponse;
     private CreateBookRequest validCreateRequest;
 
@@ -56,6 +86,7 @@ class BookControllerTest {
                 .genre("Fiction")
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
+                .version(1L)
                 .build();
 
         validCreateRequest = CreateBookRequest.builder()
@@ -255,6 +286,56 @@ class BookControllerTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.errorCode", is("VAL-006")));
         }
+
+        @Test
+        @DisplayName("Should create once and replay the response for a repeated Idempotency-Key")
+        void shouldReplayRepeatedIdempotencyKey() throws Exception {
+            // Given
+            given(bookService.createBook(any(CreateBookRequest.class)))
+                    .willReturn(sampleBookResponse);
+            String body = objectMapper.writeValueAsString(validCreateRequest);
+
+            // When
+            mockMvc.perform(post("/api/books")
+                            .header("Idempotency-Key", "import-42")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "false"));
+            ResultActions retry = mockMvc.perform(post("/api/books")
+                    .header("Idempotency-Key", "import-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body));
+
+            // Then
+            retry.andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id", is(1)));
+            verify(bookService, times(1)).createBook(any(CreateBookRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should return 422 when an Idempotency-Key is reused with a different body")
+        void shouldReturn422WhenIdempotencyKeyReused() throws Exception {
+            // Given
+            given(bookService.createBook(any(CreateBookRequest.class)))
+                    .willReturn(sampleBookResponse);
+            mockMvc.perform(post("/api/books")
+                            .header("Idempotency-Key", "import-43")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isCreated());
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/books")
+                    .header("Idempotency-Key", "import-43")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Another\", \"author\": \"Author\"}"));
+
+            // Then
+            result.andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.errorCode", is("BOOK-006")));
+        }
     }
 
     @Nested
@@ -275,7 +356,7 @@ class BookControllerTest {
                             .genre("Dystopian")
                             .build()
             );
-            given(bookService.getAllBooks()).willReturn(books);
+            given(bookService.getBooks(new BookFilter(), null, 100)).willReturn(BookPage.builder().items(books).build());
 
             // When
             ResultActions result = mockMvc.perform(get("/api/books")
@@ -285,6 +366,7 @@ class BookControllerTest {
             result.andDo(print())
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"))
                     .andExpect(jsonPath("$", hasSize(2)))
                     .andExpect(jsonPath("$[0].id", is(1)))
                     .andExpect(jsonPath("$[0].title", is("The Great Gatsby")))
@@ -296,7 +378,8 @@ class BookControllerTest {
         @DisplayName("Should return empty array when no books exist")
         void shouldReturnEmptyArrayWhenNoBooksExist() throws Exception {
             // Given
-            given(bookService.getAllBooks()).willReturn(Collections.emptyList());
+            given(bookService.getBooks(new BookFilter(), null, 100))
+                    .willReturn(BookPage.builder().items(Collections.emptyList()).build());
 
             // When
             ResultActions result = mockMvc.perform(get("/api/books")
@@ -308,6 +391,216 @@ class BookControllerTest {
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$", hasSize(0)));
         }
+
+        @Test
+        @DisplayName("Should return next cursor headers when more books follow")
+        void shouldReturnNextCursorWhenMoreBooksFollow() throws Exception {
+            // Given
+            given(bookService.getBooks(new BookFilter(), 5L, 1)).willReturn(BookPage.builder()
+                    .items(List.of(sampleBookResponse))
+                    .nextCursor(1L)
+                    .build());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("after", "5")
+                    .param("limit", "1")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Next-Cursor", "1"))
+                    .andExpect(header().string("Link", containsString("after=1")))
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields")
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            // Given
+            given(bookService.getBooks(new BookFilter(), null, 100))
+                    .willReturn(BookPage.builder().items(List.of(sampleBookResponse)).build());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("fields", "id,title")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id", is(1)))
+                    .andExpect(jsonPath("$[0].title", is("The Great Gatsby")))
+                    .andExpect(jsonPath("$[0].author").doesNotExist())
+                    .andExpect(jsonPath("$[0].createdAt").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a requested field does not exist")
+        void shouldReturn400WhenFieldUnknown() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("fields", "id,isbn")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.fields", containsString("isbn")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when limit is out of range")
+        void shouldReturn400WhenLimitOutOfRange() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("limit", "0")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode", is("VAL-008")))
+                    .andExpect(jsonPath("$.fieldErrors.limit", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should pass author, genre and year filters to the service")
+        void shouldPassFiltersToService() throws Exception {
+            // Given
+            BookFilter filter = BookFilter.builder()
+                    .author("F. Scott Fitzgerald")
+                    .genre("Fiction")
+                    .yearFrom(1900)
+                    .yearTo(1950)
+                    .build();
+            given(bookService.getBooks(filter, null, 100))
+                    .willReturn(BookPage.builder().items(List.of(sampleBookResponse)).build());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("author", "F. Scott Fitzgerald")
+                    .param("genre", "Fiction")
+                    .param("yearFrom", "1900")
+                    .param("yearTo", "1950")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].author", is("F. Scott Fitzgerald")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when yearFrom is after yearTo")
+        void shouldReturn400WhenYearRangeInverted() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books")
+                    .param("yearFrom", "1950")
+                    .param("yearTo", "1900")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode", is("VAL-008")))
+                    .andExpect(jsonPath("$.fieldErrors.yearFrom", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should stream all pages as NDJSON")
+        void shouldStreamAllPagesAsNdjson() throws Exception {
+            // Given
+            BookResponse second = BookResponse.builder().id(2L).title("1984").author("George Orwell").build();
+            given(bookService.getBooks(new BookFilter(), null, 500)).willReturn(BookPage.builder()
+                    .items(List.of(sampleBookResponse))
+                    .nextCursor(1L)
+                    .build());
+            given(bookService.getBooks(new BookFilter(), 1L, 500)).willReturn(BookPage.builder()
+                    .items(List.of(second))
+                    .build());
+
+            // When
+            MvcResult asyncResult = mockMvc.perform(get("/api/books")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            String body = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines[0], BookResponse.class).getId()).isEqualTo(1L);
+            assertThat(objectMapper.readValue(lines[1], BookResponse.class).getTitle()).isEqualTo("1984");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/books/search")
+    class SearchBooksTests {
+
+        @Test
+        @DisplayName("Should return ranked search results")
+        void shouldReturnSearchResults() throws Exception {
+            // Given
+            given(bookService.searchBooks("great gat", 20)).willReturn(BookSearchResult.builder()
+                    .items(List.of(sampleBookResponse))
+                    .build());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/search")
+                    .param("q", "great gat")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Search-Truncated"))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title", is("The Great Gatsby")));
+        }
+
+        @Test
+        @DisplayName("Should flag results of a search that stopped before scoring every match")
+        void shouldFlagTruncatedSearch() throws Exception {
+            // Given
+            given(bookService.searchBooks("the", 20)).willReturn(BookSearchResult.builder()
+                    .items(List.of(sampleBookResponse))
+                    .truncated(true)
+                    .build());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/search")
+                    .param("q", "the")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Search-Truncated", "true"))
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when query is missing")
+        void shouldReturn400WhenQueryMissing() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/search")
+                    .accept(MediaType.APPLICATION_JSON));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.q", notNullValue()));
+        }
     }
 
     @Nested
@@ -318,6 +611,7 @@ class BookControllerTest {
         @DisplayName("Should return book when found")
         void shouldReturnBookWhenFound() throws Exception {
             // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
             given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
 
             // When
@@ -332,11 +626,155 @@ class BookControllerTest {
                     .andExpect(jsonPath("$.title", is("The Great Gatsby")));
         }
 
+        @Test
+        @DisplayName("Should return JSON when the request has no Accept header")
+        void shouldReturnJsonWithoutAcceptHeader() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.title", is("The Great Gatsby")));
+        }
+
+        @Test
+        @DisplayName("Should return JSON when the client accepts anything")
+        void shouldReturnJsonForWildcardAccept() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1")
+                    .accept(MediaType.ALL));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("Should return CBOR when the client asks for it")
+        void shouldReturnCborWhenAccepted() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1")
+                    .accept(MediaType.APPLICATION_CBOR));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 1L)));
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields with the book's ETag")
+        void shouldReturnProjectedBook() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1")
+                    .param("fields", "title"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 1L)))
+                    .andExpect(jsonPath("$.title", is("The Great Gatsby")))
+                    .andExpect(jsonPath("$.id").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return an ETag and 304 when it still matches")
+        void shouldReturn304WhenETagMatches() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+            String etag = mockMvc.perform(get("/api/books/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            clearInvocations(bookService);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            verify(bookService, never()).getBookById(any());
+        }
+
+        @Test
+        @DisplayName("Should serve a cached body without loading the book")
+        void shouldServeCachedBodyWithoutLoadingBook() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+            mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+            clearInvocations(bookService);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 1L)))
+                    .andExpect(jsonPath("$.title", is("The Great Gatsby")));
+            verify(bookService, never()).getBookById(any());
+        }
+
+        @Test
+        @DisplayName("Should return a new body when the book changed")
+        void shouldReturnNewBodyWhenBookChanged() throws Exception {
+            // Given
+            given(bookService.getBookVersion(1L)).willReturn(1L);
+            given(bookService.getBookById(1L)).willReturn(sampleBookResponse);
+            String etag = mockMvc.perform(get("/api/books/1"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            BookResponse changed = BookResponse.builder()
+                    .id(1L)
+                    .title("Changed")
+                    .author("F. Scott Fitzgerald")
+                    .createdAt(sampleBookResponse.getCreatedAt())
+                    .updatedAt(sampleBookResponse.getUpdatedAt().plusSeconds(1))
+                    .version(2L)
+                    .build();
+            given(bookService.getBookVersion(1L)).willReturn(2L);
+            given(bookService.getBookById(1L)).willReturn(changed);
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/books/1")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                    .andExpect(jsonPath("$.title", is("Changed")));
+        }
+
         @Test
         @DisplayName("Should return 404 when book not found")
         void shouldReturn404WhenBookNotFound() throws Exception {
             // Given
-            given(bookService.getBookById(999L))
+            given(bookService.getBookVersion(999L))
                     .willThrow(new com.company.bookmanagement.exception.BookNotFoundException(999L));
 
             // When
@@ -368,6 +806,44 @@ class BookControllerTest {
     @DisplayName("PUT /api/books/{id}")
     class UpdateBookTests {
 
+        @Test
+        @DisplayName("Should pass the If-Match version to the service and return the new ETag")
+        void shouldPassIfMatchVersion() throws Exception {
+            // Given
+            given(bookService.updateBook(eq(1L), any(UpdateBookRequest.class), eq(1L)))
+                    .willReturn(BookResponse.builder().id(1L).title("Updated").version(2L).build());
+
+            // When
+            ResultActions result = mockMvc.perform(put("/api/books/1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 1L))
+                    .content("{\"title\": \"Updated\"}"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 2L)));
+        }
+
+        @Test
+        @DisplayName("Should return 412 when the book no longer matches If-Match")
+        void shouldReturn412WhenPreconditionFails() throws Exception {
+            // Given
+            given(bookService.updateBook(eq(1L), any(UpdateBookRequest.class), eq(1L)))
+                    .willThrow(new BookPreconditionFailedException(1L, 2L));
+
+            // When
+            ResultActions result = mockMvc.perform(put("/api/books/1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 1L))
+                    .content("{\"title\": \"Updated\"}"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.errorCode", is("BOOK-004")));
+        }
+
         @Test
         @DisplayName("Should update book successfully")
         void shouldUpdateBookSuccessfully() throws Exception {
@@ -386,7 +862,7 @@ class BookControllerTest {
                     .updatedAt(LocalDateTime.now())
                     .build();
 
-            given(bookService.updateBook(eq(1L), any(UpdateBookRequest.class)))
+            given(bookService.updateBook(eq(1L), any(UpdateBookRequest.class), isNull()))
                     .willReturn(updatedResponse);
 
             // When
@@ -409,7 +885,7 @@ class BookControllerTest {
                     .title("Updated Title")
                     .build();
 
-            given(bookService.updateBook(eq(999L), any(UpdateBookRequest.class)))
+            given(bookService.updateBook(eq(999L), any(UpdateBookRequest.class), isNull()))
                     .willThrow(new com.company.bookmanagement.exception.BookNotFoundException(999L));
 
             // When
@@ -450,7 +926,7 @@ class BookControllerTest {
         @DisplayName("Should delete book successfully")
         void shouldDeleteBookSuccessfully() throws Exception {
             // Given
-            given(bookService.deleteBook(1L)).willReturn(sampleBookResponse);
+            given(bookService.deleteBook(1L, null)).willReturn(sampleBookResponse);
 
             // When
             ResultActions result = mockMvc.perform(delete("/api/books/1")
@@ -467,7 +943,7 @@ class BookControllerTest {
         @DisplayName("Should return 404 when deleting non-existent book")
         void shouldReturn404WhenDeletingNonExistentBook() throws Exception {
             // Given
-            given(bookService.deleteBook(999L))
+            given(bookService.deleteBook(999L, null))
                     .willThrow(new com.company.bookmanagement.exception.BookNotFoundException(999L));
 
             // When
@@ -484,7 +960,7 @@ class BookControllerTest {
         @DisplayName("Should return 404 when deleting same book twice (idempotency)")
         void shouldReturn404WhenDeletingSameBookTwice() throws Exception {
             // Given - First delete succeeds
-            given(bookService.deleteBook(1L))
+            given(bookService.deleteBook(1L, null))
                     .willReturn(sampleBookResponse)
                     .willThrow(new com.company.bookmanagement.exception.BookNotFoundException(1L));
 
@@ -501,4 +977,49 @@ class BookControllerTest {
                     .andExpect(status().isNotFound());
         }
     }
+
+    @Nested
+    @DisplayName("/api/books/batch")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should return per-item results for a batch create")
+        void shouldReturnPerItemResultsForBatchCreate() throws Exception {
+            // Given
+            BatchCreateBooksRequest request = BatchCreateBooksRequest.builder()
+                    .items(List.of(validCreateRequest))
+                    .build();
+            given(bookService.createBooks(any(BatchCreateBooksRequest.class))).willReturn(BatchResponse.builder()
+                    .total(1)
+                    .succeeded(1)
+                    .results(List.of(BatchItemResult.builder().index(0).id(1L).status(BatchItemStatus.CREATED).build()))
+                    .build());
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/books/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded", is(1)))
+                    .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                    .andExpect(jsonPath("$.results[0].id", is(1)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when batch is empty")
+        void shouldReturn400WhenBatchEmpty() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(delete("/api/books/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\": []}"));
+
+            // Then
+            result.andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.ids", notNullValue()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.company.bookmanagement.idempotency;
+
+import com.company.bookmanagement.model.dto.response.BookResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once")
+    void shouldCollapseConcurrentDuplicates() throws Exception {
+        AtomicInteger creates = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyStore.Outcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            outcomes.add(executor.submit(() -> store.execute("key", "body", () -> {
+                creates.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return BookResponse.builder().id(creates.longValue()).build();
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        int replayed = 0;
+        for (Future<IdempotencyStore.Outcome> outcome : outcomes) {
+            assertThat(outcome.get().response().getId()).isEqualTo(1L);
+            replayed += outcome.get().replayed() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(creates).hasValue(1);
+        assertThat(replayed).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should forget failed attempts so they can be retried")
+    void shouldForgetFailures() {
+        assertThatThrownBy(() -> store.execute("key", "body", () -> {
+            throw new IllegalStateException("storage down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.Outcome retry = store.execute("key", "body", () -> BookResponse.builder().id(2L).build());
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response().getId()).isEqualTo(2L);
+    }
+}
@@ -3,16 +3,21 @@ package com.company.bookmanagement.integration;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.entity.Book;
 import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.util.ETagUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -148,4 +153,318 @@ class BookApiIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errorCode", is("VAL-007")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(5)
+    @DisplayName("Keyset pagination walks the catalog in ID order")
+    void keysetPaginationWalksCatalogInIdOrder() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            bookRepository.save(Book.builder()
+                    .title("Book " + i)
+                    .author("Author " + i)
+                    .build());
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/books").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Book 1")))
+                .andExpect(jsonPath("$[1].title", is("Book 2")))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/books").param("after", cursor).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].title", is("Book 3")))
+                .andExpect(jsonPath("$[2].title", is("Book 5")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Author, genre and year filters are served from the indexes")
+    void filtersAreServedFromIndexes() throws Exception {
+        bookRepository.save(Book.builder().title("1984").author("George Orwell").genre("Dystopian").year(1949).build());
+        bookRepository.save(Book.builder().title("Animal Farm").author("George Orwell").genre("Satire").year(1945).build());
+        bookRepository.save(Book.builder().title("Brave New World").author("Aldous Huxley").genre("Dystopian").year(1932).build());
+
+        mockMvc.perform(get("/api/books").param("author", "george orwell"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("1984")))
+                .andExpect(jsonPath("$[1].title", is("Animal Farm")));
+
+        mockMvc.perform(get("/api/books").param("genre", "Dystopian").param("yearTo", "1940"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Brave New World")));
+
+        // Updating a book moves it between index entries
+        mockMvc.perform(put("/api/books/{id}", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"genre\": \"Dystopian\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books").param("genre", "dystopian"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/api/books").param("genre", "Satire"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Search follows creates, updates and deletes")
+    void searchFollowsWrites() throws Exception {
+        bookRepository.save(Book.builder().title("The Great Gatsby").author("F. Scott Fitzgerald").build());
+        bookRepository.save(Book.builder().title("Great Expectations").author("Charles Dickens").build());
+
+        mockMvc.perform(get("/api/books/search").param("q", "great ex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Great Expectations")));
+
+        mockMvc.perform(put("/api/books/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Tender Is the Night\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/books/{id}", 2))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/search").param("q", "great"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/books/search").param("q", "tender"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].author", is("F. Scott Fitzgerald")));
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Batch create, update and delete report per-item results")
+    void batchWorkflow() throws Exception {
+        mockMvc.perform(post("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [
+                                    {"title": "Book A", "author": "Author A", "year": 2001},
+                                    {"author": "No Title"},
+                                    {"title": "Book B", "author": "Author B"}
+                                ]}
+                                """))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.results[0].id", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.results[1].fieldErrors.title", notNullValue()))
+                .andExpect(jsonPath("$.results[2].id", is(2)));
+
+        mockMvc.perform(put("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [
+                                    {"id": 2, "changes": {"genre": "Poetry"}},
+                                    {"id": 99, "changes": {"genre": "Poetry"}}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status", is("UPDATED")))
+                .andExpect(jsonPath("$.results[1].status", is("NOT_FOUND")));
+
+        mockMvc.perform(get("/api/books").param("genre", "poetry"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Book B")));
+
+        mockMvc.perform(delete("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.results[2].status", is("NOT_FOUND")));
+
+        mockMvc.perform(get("/api/books"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("NDJSON import stores valid records in chunks and reports rejected ones")
+    void ndjsonImport() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 2500; i++) {
+            body.append("{\"title\": \"Imported ").append(i).append("\", \"author\": \"Bulk Author\"}\n");
+        }
+        body.append("{\"author\": \"No Title\"}\n");
+        body.append("{\"title\": \"Bad Year\", \"author\": \"Someone\", \"year\": \"soon\"}\n");
+        body.append("{\"title\": \"Last\", \"author\": \"Someone\"}\n");
+
+        mockMvc.perform(post("/api/books/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2501)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.aborted", is(false)))
+                .andExpect(jsonPath("$.errors[0].record", is(2501)))
+                .andExpect(jsonPath("$.errors[0].fieldErrors.title", notNullValue()))
+                .andExpect(jsonPath("$.errors[1].record", is(2502)))
+                .andExpect(jsonPath("$.errors[1].errorCode", is("VAL-006")));
+
+        mockMvc.perform(get("/api/books").param("author", "bulk author").param("limit", "1000"))
+                .andExpect(jsonPath("$", hasSize(1000)))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("CSV import maps columns by header and stops on malformed input")
+    void csvImport() throws Exception {
+        mockMvc.perform(post("/api/books/import")
+                        .contentType("text/csv")
+                        .content("""
+                                title,author,year,genre
+                                Dune,Frank Herbert,1965,Science Fiction
+                                Emma,Jane Austen,,
+                                """))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+
+        mockMvc.perform(get("/api/books/{id}", 2))
+                .andExpect(jsonPath("$.title", is("Emma")))
+                .andExpect(jsonPath("$.year").doesNotExist());
+
+        mockMvc.perform(post("/api/books/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"title": "Kept", "author": "Someone"}
+                                {"title": "Broken", "author":
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.aborted", is(true)));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("ETag stays stable until the book is updated")
+    void etagFollowsUpdates() throws Exception {
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Cached\", \"author\": \"Author\"}"))
+                .andExpect(status().isCreated());
+
+        String etag = mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/books/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Cached again\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.title", is("Cached again")));
+
+        mockMvc.perform(delete("/api/books/1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("If-Match rejects updates and deletes based on a stale version")
+    void ifMatchRejectsStaleVersions() throws Exception {
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Versioned\", \"author\": \"Author\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version", is(1)));
+
+        mockMvc.perform(put("/api/books/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 1L))
+                        .content("{\"genre\": \"Drama\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 2L)))
+                .andExpect(jsonPath("$.version", is(2)));
+
+        mockMvc.perform(put("/api/books/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 1L))
+                        .content("{\"genre\": \"Comedy\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode", is("BOOK-004")));
+
+        mockMvc.perform(delete("/api/books/1").header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 1L)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(jsonPath("$.genre", is("Drama")));
+
+        mockMvc.perform(delete("/api/books/1").header(HttpHeaders.IF_MATCH, ETagUtil.etagOf(1L, 2L)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Repository gauges and cache hits are published on /actuator/metrics")
+    void metricsArePublished() throws Exception {
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Measured\", \"author\": \"Author\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/bookmanagement.books.count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", is(1.0)));
+        mockMvc.perform(get("/actuator/metrics/bookmanagement.books.last.issued.id"))
+                .andExpect(jsonPath("$.measurements[0].value", is(1.0)));
+        mockMvc.perform(get("/actuator/metrics/bookmanagement.books.estimated.size"))
+                .andExpect(jsonPath("$.baseUnit", is("bytes")))
+                .andExpect(jsonPath("$.measurements[0].value", greaterThan(0.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:book-response")
+                        .param("tag", "result:hit"))
+                .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/bookmanagement.book.serialization"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/bookmanagement.book.mapping")
+                        .param("tag", "direction:to-entity"))
+                .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Books are served as CBOR when the client asks for it")
+    void cborIsNegotiated() throws Exception {
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Binary\", \"author\": \"Author\"}"))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.etagOf(1L, 1L)))
+                .andReturn();
+
+        BookResponse book = new CBORMapper().findAndRegisterModules()
+                .readValue(result.getResponse().getContentAsByteArray(), BookResponse.class);
+        assertThat(book.getTitle()).isEqualTo("Binary");
+    }
+}
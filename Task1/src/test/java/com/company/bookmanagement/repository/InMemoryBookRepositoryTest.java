@@ -0,0 +1,400 @@
+package com.company.bookmanagement.repository;
+
+import com.company.bookmanagement.exception.BookVersionConflictException;
+import com.company.bookmanagement.exception.StorageException;
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import com.company.bookmanagement.repository.persistence.BookJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("In-Memory Book Repository Tests")
+class InMemoryBookRepositoryTest {
+
+    private InMemoryBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryBookRepository(List.of());
+    }
+
+    private Book book(String title, String author, String genre, Integer year) {
+        return Book.builder().title(title).author(author).genre(genre).year(year).build();
+    }
+
+    private List<String> titles(List<Book> books) {
+        return books.stream().map(Book::getTitle).toList();
+    }
+
+    @Nested
+    @DisplayName("findPage()")
+    class FindPageTests {
+
+        @Test
+        @DisplayName("Should return books in ID order after the cursor")
+        void shouldReturnBooksInIdOrderAfterCursor() {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                repository.save(book("Book " + i, "Author", null, null));
+            }
+
+            // When
+            List<Book> page = repository.findPage(2L, 2);
+
+            // Then
+            assertThat(titles(page)).containsExactly("Book 3", "Book 4");
+        }
+
+        @Test
+        @DisplayName("Should skip deleted books")
+        void shouldSkipDeletedBooks() {
+            // Given
+            for (int i = 1; i <= 3; i++) {
+                repository.save(book("Book " + i, "Author", null, null));
+            }
+            repository.deleteById(2L);
+
+            // When
+            List<Book> page = repository.findPage(null, 10);
+
+            // Then
+            assertThat(titles(page)).containsExactly("Book 1", "Book 3");
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage(filter)")
+    class FilteredFindPageTests {
+
+        @BeforeEach
+        void seed() {
+            repository.save(book("1984", "George Orwell", "Dystopian", 1949));
+            repository.save(book("Animal Farm", "George Orwell", "Satire", 1945));
+            repository.save(book("Brave New World", "Aldous Huxley", "Dystopian", 1932));
+            repository.save(book("Emma", "Jane Austen", "Romance", 1815));
+        }
+
+        @Test
+        @DisplayName("Should match author case-insensitively")
+        void shouldMatchAuthorCaseInsensitively() {
+            List<Book> page = repository.findPage(BookFilter.builder().author(" GEORGE orwell ").build(), null, 10);
+
+            assertThat(titles(page)).containsExactly("1984", "Animal Farm");
+        }
+
+        @Test
+        @DisplayName("Should combine genre and year range")
+        void shouldCombineGenreAndYearRange() {
+            BookFilter filter = BookFilter.builder().genre("dystopian").yearFrom(1940).build();
+
+            assertThat(titles(repository.findPage(filter, null, 10))).containsExactly("1984");
+        }
+
+        @Test
+        @DisplayName("Should merge year buckets in ID order and honour the cursor")
+        void shouldMergeYearBucketsInIdOrder() {
+            BookFilter filter = BookFilter.builder().yearFrom(1800).yearTo(1950).build();
+
+            assertThat(titles(repository.findPage(filter, null, 10)))
+                    .containsExactly("1984", "Animal Farm", "Brave New World", "Emma");
+            assertThat(titles(repository.findPage(filter, 1L, 2)))
+                    .containsExactly("Animal Farm", "Brave New World");
+        }
+
+        @Test
+        @DisplayName("Should move a book between index entries when it is updated")
+        void shouldReindexUpdatedBook() {
+            Book animalFarm = repository.findById(2L).orElseThrow();
+            repository.save(animalFarm.toBuilder().genre("Dystopian").year(1931).build());
+
+            assertThat(repository.findPage(BookFilter.builder().genre("Satire").build(), null, 10)).isEmpty();
+            assertThat(titles(repository.findPage(BookFilter.builder().genre("Dystopian").build(), null, 10)))
+                    .containsExactly("1984", "Animal Farm", "Brave New World");
+            assertThat(titles(repository.findPage(BookFilter.builder().yearTo(1940).build(), null, 10)))
+                    .containsExactly("Animal Farm", "Brave New World", "Emma");
+        }
+
+        @Test
+        @DisplayName("Should drop deleted books from every index")
+        void shouldDropDeletedBooksFromIndexes() {
+            repository.deleteById(1L);
+            repository.deleteAll();
+            repository.save(book("Persuasion", "Jane Austen", "Romance", 1817));
+
+            assertThat(titles(repository.findPage(BookFilter.builder().author("Jane Austen").build(), null, 10)))
+                    .containsExactly("Persuasion");
+            assertThat(repository.findPage(BookFilter.builder().genre("Dystopian").build(), null, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("saveAll() / deleteAllById()")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should assign a contiguous block of IDs and one timestamp")
+        void shouldAssignContiguousIds() {
+            repository.save(book("Existing", "Author", null, null));
+
+            List<Book> saved = repository.saveAll(List.of(
+                    book("A", "Author", null, null),
+                    book("B", "Author", null, null),
+                    book("C", "Author", null, null)));
+
+            assertThat(saved).extracting(Book::getId).containsExactly(2L, 3L, 4L);
+            assertThat(saved).extracting(Book::getCreatedAt).containsOnly(saved.get(0).getCreatedAt());
+            assertThat(repository.save(book("D", "Author", null, null)).getId()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should delete only existing IDs")
+        void shouldDeleteOnlyExistingIds() {
+            repository.saveAll(List.of(book("A", "Author", null, null), book("B", "Author", null, null)));
+
+            assertThat(repository.deleteAllById(List.of(1L, 7L, 2L))).containsExactly(1L, 2L);
+            assertThat(repository.count()).isZero();
+            assertThat(repository.findPage(BookFilter.builder().author("author").build(), null, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Versioned saves")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Should reject a save based on a stale version")
+        void shouldRejectStaleSave() {
+            // Given
+            Book stored = repository.save(book("Title", "Author", null, null));
+            Book first = stored.toBuilder().title("First").build();
+            Book second = stored.toBuilder().title("Second").build();
+            repository.save(first);
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(second)).isInstanceOf(BookVersionConflictException.class);
+            assertThat(repository.findById(1L).orElseThrow().getTitle()).isEqualTo("First");
+            assertThat(repository.findById(1L).orElseThrow().getVersion()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should not resurrect a book deleted before the save")
+        void shouldNotResurrectDeletedBook() {
+            // Given
+            Book stored = repository.save(book("Title", "Author", null, null));
+            repository.deleteById(1L);
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(stored.toBuilder().title("Changed").build()))
+                    .isInstanceOf(BookVersionConflictException.class);
+            assertThat(repository.existsById(1L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should delete only the expected version")
+        void shouldDeleteOnlyExpectedVersion() {
+            // Given
+            repository.save(book("Title", "Author", null, null));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.deleteById(1L, 5L)).isInstanceOf(BookVersionConflictException.class);
+            assertThat(repository.deleteById(1L, 1L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should lose no updates when threads retry on conflict")
+        void shouldLoseNoUpdatesWithRetries() throws Exception {
+            // Given
+            repository.save(book("Counter", "Author", null, 0));
+
+            // When - every thread increments the year with read, copy, compare-and-set
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        while (true) {
+                            Book current = repository.findById(1L).orElseThrow();
+                            try {
+                                repository.save(current.toBuilder().year(current.getYear() + 1).build());
+                                break;
+                            } catch (BookVersionConflictException ex) {
+                                // Retry with the newer version
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            // Then
+            Book result = repository.findById(1L).orElseThrow();
+            assertThat(result.getYear()).isEqualTo(4000);
+            assertThat(result.getVersion()).isEqualTo(4001L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Journal failures")
+    class JournalFailureTests {
+
+        private final List<String> events = new ArrayList<>();
+        private final FailingJournal journal = new FailingJournal();
+
+        @BeforeEach
+        void useFailingJournal() {
+            BookChangeListener listener = new BookChangeListener() {
+                @Override
+                public void onSaved(Book previous, Book current) {
+                    events.add("saved " + current.getTitle());
+                }
+
+                @Override
+                public void onDeleted(Book previous) {
+                    events.add("deleted " + previous.getTitle());
+                }
+            };
+            repository = new InMemoryBookRepository(List.of(listener), journal);
+        }
+
+        @Test
+        @DisplayName("Should roll back a write whose record failed")
+        void shouldRollBackFailedWrite() {
+            // Given
+            Book stored = repository.save(book("Original", "First Author", null, null));
+            journal.failing = true;
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(stored.toBuilder().title("Changed").author("Second Author").build()))
+                    .isInstanceOf(StorageException.class);
+            assertThat(repository.findById(1L).orElseThrow().getTitle()).isEqualTo("Original");
+            assertThat(repository.findPage(BookFilter.builder().author("second author").build(), null, 10)).isEmpty();
+            assertThat(events).containsExactly("saved Original", "saved Changed", "saved Original");
+        }
+
+        @Test
+        @DisplayName("Should refuse writes without applying them once the journal has failed")
+        void shouldFailFastAfterFailure() {
+            // Given
+            journal.failing = true;
+            assertThatThrownBy(() -> repository.save(book("Lost", "Author", null, null)))
+                    .isInstanceOf(StorageException.class);
+            events.clear();
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(book("Refused", "Author", null, null)))
+                    .isInstanceOf(StorageException.class);
+            assertThat(repository.count()).isZero();
+            assertThat(events).isEmpty();
+        }
+    }
+
+    // Fails every record once failing is set, and every write after the first failure
+    private static class FailingJournal implements BookJournal {
+        volatile boolean failing;
+        volatile boolean failed;
+
+        @Override
+        public long replay(Consumer<Book> saved, LongConsumer deleted) {
+            return 0;
+        }
+
+        @Override
+        public void checkWritable() {
+            if (failed) {
+                throw new StorageException(new IOException("Disk full"));
+            }
+        }
+
+        @Override
+        public CompletableFuture<?> recordSaved(Book book) {
+            return record();
+        }
+
+        @Override
+        public CompletableFuture<?> recordDeleted(Long id) {
+            return record();
+        }
+
+        private CompletableFuture<?> record() {
+            if (!failing) {
+                return CompletableFuture.completedFuture(null);
+            }
+            failed = true;
+            return CompletableFuture.failedFuture(new IOException("Disk full"));
+        }
+    }
+
+    @Test
+    @DisplayName("Indexes should stay consistent under concurrent writes")
+    void indexesShouldStayConsistentUnderConcurrentWrites() throws Exception {
+        // Given
+        String[] genres = {"Fiction", "History", "Poetry"};
+        for (int i = 0; i < 200; i++) {
+            repository.save(book("Book " + i, "Author " + (i % 10), genres[i % 3], 1900 + (i % 50)));
+        }
+
+        // When - threads keep rewriting and deleting random books
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    long id = random.nextLong(1, 201);
+                    if (random.nextInt(10) == 0) {
+                        repository.deleteById(id);
+                    } else {
+                        try {
+                            repository.findById(id).ifPresent(existing -> repository.save(existing.toBuilder()
+                                    .author("Author " + random.nextInt(10))
+                                    .genre(genres[random.nextInt(3)])
+                                    .year(1900 + random.nextInt(50))
+                                    .build()));
+                        } catch (BookVersionConflictException ex) {
+                            // Another thread won the race for this book
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then - every index lookup agrees with a full scan
+        List<Book> all = repository.findAll();
+        for (String genre : genres) {
+            long expected = all.stream().filter(b -> b.getGenre().equals(genre)).count();
+            assertThat(repository.findPage(BookFilter.builder().genre(genre).build(), null, 1_000)).hasSize((int) expected);
+        }
+        for (int a = 0; a < 10; a++) {
+            String author = "Author " + a;
+            long expected = all.stream().filter(b -> b.getAuthor().equals(author)).count();
+            assertThat(repository.findPage(BookFilter.builder().author(author).build(), null, 1_000)).hasSize((int) expected);
+        }
+        long expectedInRange = all.stream().filter(b -> b.getYear() >= 1910 && b.getYear() <= 1920).count();
+        assertThat(repository.findPage(BookFilter.builder().yearFrom(1910).yearTo(1920).build(), null, 1_000))
+                .hasSize((int) expectedInRange);
+    }
+}
@@ -0,0 +1,154 @@
+package com.company.bookmanagement.repository;
+
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.MappedBookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Mapped Book Repository Tests")
+class MappedBookRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<String> events = new ArrayList<>();
+    private MappedBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        BookChangeListener recorder = new BookChangeListener() {
+            @Override
+            public void onSaved(Book previous, Book current) {
+                events.add((previous == null ? "created " : "updated ") + current.getId());
+            }
+
+            @Override
+            public void onDeleted(Book previous) {
+                events.add("deleted " + previous.getId());
+            }
+        };
+        // Small segments so the tests cross segment boundaries
+        repository = new MappedBookRepository(List.of(recorder), directory.resolve("books.dat"), 4096);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    private Book book(String title, String author, String genre, Integer year) {
+        return Book.builder().title(title).author(author).genre(genre).year(year).build();
+    }
+
+    @Test
+    @DisplayName("Should decode every field of a stored book")
+    void shouldDecodeStoredBook() {
+        // Given
+        Book saved = repository.save(book("Ünïcödé", "Author", null, 1999));
+
+        // When
+        Book found = repository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(found).isEqualTo(saved);
+        assertThat(found).isNotSameAs(saved);
+        assertThat(found.getGenre()).isNull();
+        assertThat(found.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should read the stored version without decoding the book")
+    void shouldFindVersion() {
+        // Given
+        Book saved = repository.save(book("Title", "Author", "Genre", 2001));
+        repository.save(repository.findById(saved.getId()).orElseThrow().toBuilder().title("Changed").build());
+
+        // When / Then
+        assertThat(repository.findVersion(saved.getId())).hasValue(2L);
+        assertThat(repository.findVersion(99L)).isEmpty();
+        assertThat(repository.findVersion(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page, update and delete across segments")
+    void shouldPageUpdateAndDeleteAcrossSegments() {
+        // Given
+        List<Book> batch = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            batch.add(book("Book " + i, "Author " + i % 3, "Genre", 1900 + i % 50));
+        }
+        repository.saveAll(batch);
+        Book changed = repository.findById(10L).orElseThrow().toBuilder().title("Changed").build();
+        repository.save(changed);
+        repository.deleteById(11L);
+
+        // When
+        List<Book> page = repository.findPage(9L, 3);
+
+        // Then
+        assertThat(page).extracting(Book::getId).containsExactly(10L, 12L, 13L);
+        assertThat(page.get(0).getTitle()).isEqualTo("Changed");
+        assertThat(repository.count()).isEqualTo(499);
+        assertThat(repository.existsById(11L)).isFalse();
+        assertThat(repository.findAll()).hasSize(499);
+        assertThat(repository.findPage(BookFilter.builder().author("author 1").build(), null, 1000))
+                .hasSize(167);
+        assertThat(events).contains("created 1", "updated 10", "deleted 11");
+    }
+
+    @Test
+    @DisplayName("Should compact superseded records so the file does not grow with updates")
+    void shouldCompactSupersededRecords() {
+        // Given
+        List<Book> batch = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            batch.add(book("Book " + i, "Author", "Genre", 2000 + i));
+        }
+        repository.saveAll(batch);
+        Book heldByReader = repository.findById(1L).orElseThrow();
+
+        // When
+        for (int round = 1; round <= 500; round++) {
+            for (long id = 1; id <= 10; id++) {
+                Book current = repository.findById(id).orElseThrow();
+                repository.save(current.toBuilder().title("Book " + id + " rev " + round).build());
+            }
+        }
+
+        // Then
+        assertThat(repository.fileSize()).isLessThanOrEqualTo(2 * 4096);
+        assertThat(repository.findById(7L).orElseThrow().getTitle()).isEqualTo("Book 7 rev 500");
+        assertThat(repository.findVersion(7L)).hasValue(501L);
+        assertThat(repository.findPage(null, 100)).hasSize(10);
+        assertThat(heldByReader.getTitle()).isEqualTo("Book 1");
+    }
+
+    @Test
+    @DisplayName("Should reset IDs on deleteAll without overwriting earlier records")
+    void shouldResetOnDeleteAll() {
+        // Given
+        repository.save(book("First", "Author", null, null));
+        repository.save(book("Second", "Author", null, null));
+
+        // When
+        repository.deleteAll();
+        Book next = repository.save(book("Again", "Author", null, null));
+
+        // Then
+        assertThat(next.getId()).isEqualTo(1L);
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.findPage(null, 10)).extracting(Book::getTitle).containsExactly("Again");
+        assertThat(repository.findById(2L)).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.bookmanagement.repository;
+
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.id.BlockIdAllocator;
+import com.company.bookmanagement.repository.impl.PartitionedBookRepository;
+import com.company.bookmanagement.repository.persistence.BookJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Partitioned Book Repository Tests")
+class PartitionedBookRepositoryTest {
+
+    private PartitionedBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PartitionedBookRepository(List.of(), BookJournal.NONE, new BlockIdAllocator(8, 0, 1), 4);
+    }
+
+    private Book book(int i) {
+        return Book.builder().title("Book " + i).author("Author " + i % 3).build();
+    }
+
+    @Test
+    @DisplayName("Should page across partitions in ID order")
+    void shouldPageAcrossPartitionsInIdOrder() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(book(i));
+        }
+        repository.saveAll(books);
+
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        List<Book> page;
+        while (!(page = repository.findPage(cursor, 7)).isEmpty()) {
+            page.forEach(book -> ids.add(book.getId()));
+            cursor = page.get(page.size() - 1).getId();
+        }
+
+        assertThat(ids).hasSize(50).isSorted().doesNotHaveDuplicates();
+        assertThat(repository.count()).isEqualTo(50);
+        assertThat(repository.lastIssuedId()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should route single-book operations and filters to the owning partition")
+    void shouldRouteByIdAndFilter() {
+        for (int i = 0; i < 12; i++) {
+            repository.save(book(i));
+        }
+        repository.deleteById(4L);
+        Book updated = repository.findById(5L).orElseThrow().toBuilder().build();
+        updated.setAuthor("Someone Else");
+        repository.save(updated);
+
+        assertThat(repository.existsById(4L)).isFalse();
+        assertThat(repository.findById(5L)).get().extracting(Book::getVersion).isEqualTo(2L);
+        assertThat(repository.findPage(BookFilter.builder().author("author 1").build(), null, 10))
+                .extracting(Book::getId)
+                .containsExactly(2L, 8L, 11L);
+        assertThat(repository.deleteAllById(List.of(1L, 4L, 7L))).containsExactlyInAnyOrder(1L, 7L);
+        assertThat(repository.count()).isEqualTo(9);
+    }
+}
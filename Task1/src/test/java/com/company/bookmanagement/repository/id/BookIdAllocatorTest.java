@@ -0,0 +1,112 @@
+package com.company.bookmanagement.repository.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Book ID Allocator Tests")
+class BookIdAllocatorTest {
+
+    @Test
+    @DisplayName("Should give each node disjoint blocks")
+    void shouldGiveNodesDisjointBlocks() {
+        BlockIdAllocator first = new BlockIdAllocator(4, 0, 2);
+        BlockIdAllocator second = new BlockIdAllocator(4, 1, 2);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertThat(ids.add(first.next())).isTrue();
+            assertThat(ids.add(second.next())).isTrue();
+        }
+
+        assertThat(first.next()).isEqualTo(19);  // third block of node 0: 17-20
+        assertThat(second.next()).isEqualTo(23);  // third block of node 1: 21-24
+    }
+
+    @Test
+    @DisplayName("Should hand out unique IDs to concurrent threads")
+    void shouldStayUniqueUnderContention() throws Exception {
+        BlockIdAllocator allocator = new BlockIdAllocator(16, 0, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                long[] ids = new long[1000];
+                for (int i = 0; i < ids.length; i += 10) {
+                    ids[i] = allocator.next();
+                    long[] batch = new long[9];
+                    allocator.next(batch);
+                    System.arraycopy(batch, 0, ids, i + 1, batch.length);
+                }
+                return ids;
+            }));
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Future<long[]> result : results) {
+            for (long id : result.get()) {
+                assertThat(seen.add(id)).isTrue();
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(seen).hasSize(8000);
+        assertThat(allocator.lastIssued()).isEqualTo(seen.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should continue after restored IDs")
+    void shouldContinueAfterRestoredIds() {
+        BlockIdAllocator blocks = new BlockIdAllocator(4, 0, 1);
+        blocks.advancePast(6);
+        SequentialIdAllocator sequential = new SequentialIdAllocator();
+        sequential.advancePast(6);
+
+        assertThat(blocks.next()).isEqualTo(9);
+        assertThat(sequential.next()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should encode time and node and stay increasing when the clock stands still")
+    void shouldBuildSnowflakeIds() {
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(5, Clock.fixed(now, ZoneOffset.UTC));
+        int shift = SnowflakeIdAllocator.TIME_SHIFT;
+
+        long first = allocator.next();
+        assertThat(first >>> shift).isEqualTo(now.toEpochMilli() - SnowflakeIdAllocator.EPOCH_MILLIS);
+        assertThat((first >>> SnowflakeIdAllocator.SEQUENCE_BITS) & SnowflakeIdAllocator.MAX_NODE_ID).isEqualTo(5);
+
+        long previous = first;
+        for (int i = 0; i < 1000; i++) {
+            long next = allocator.next();
+            assertThat(next).isGreaterThan(previous);
+            assertThat((next >>> SnowflakeIdAllocator.SEQUENCE_BITS) & SnowflakeIdAllocator.MAX_NODE_ID).isEqualTo(5);
+            previous = next;
+        }
+        // 256 sequence numbers per millisecond, then the following milliseconds are borrowed
+        assertThat(previous >>> shift).isEqualTo((first >>> shift) + 3);
+    }
+
+    @Test
+    @DisplayName("Should keep snowflake IDs exact as JavaScript numbers")
+    void shouldKeepSnowflakeIdsBelowTwoToThe53() {
+        Instant late = Instant.parse("2093-01-01T00:00:00Z");
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(SnowflakeIdAllocator.MAX_NODE_ID,
+                Clock.fixed(late, ZoneOffset.UTC));
+
+        assertThat(allocator.next()).isLessThan(1L << 53);
+    }
+}
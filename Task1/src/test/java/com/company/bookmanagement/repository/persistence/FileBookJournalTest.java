@@ -0,0 +1,209 @@
+package com.company.bookmanagement.repository.persistence;
+
+import com.company.bookmanagement.exception.StorageException;
+import com.company.bookmanagement.model.dto.request.BookFilter;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("File Book Journal Tests")
+class FileBookJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<FileBookJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(FileBookJournal::close);
+    }
+
+    private FileBookJournal journal() {
+        FileBookJournal journal = new FileBookJournal(directory, 1024, Duration.ZERO);
+        journals.add(journal);
+        return journal;
+    }
+
+    private InMemoryBookRepository open(FileBookJournal journal) {
+        InMemoryBookRepository repository = new InMemoryBookRepository(List.of(), journal);
+        repository.restore();
+        return repository;
+    }
+
+    private Book book(String title, String author, Integer year) {
+        return Book.builder().title(title).author(author).year(year).build();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore books, indexes and the ID counter from the log")
+    void shouldRestoreFromLog() {
+        // Given
+        FileBookJournal first = journal();
+        InMemoryBookRepository repository = open(first);
+        repository.save(book("Dune", "Frank Herbert", 1965));
+        repository.save(book("Emma", "Jane Austen", null));
+        Book updated = repository.findById(1L).orElseThrow().toBuilder().title("Dune Messiah").build();
+        repository.save(updated);
+        repository.save(book("Gone", "Nobody", 2000));
+        repository.deleteById(3L);
+        first.close();
+
+        // When
+        InMemoryBookRepository restored = open(journal());
+
+        // Then
+        assertThat(restored.count()).isEqualTo(2);
+        Book dune = restored.findById(1L).orElseThrow();
+        assertThat(dune.getTitle()).isEqualTo("Dune Messiah");
+        assertThat(dune.getYear()).isEqualTo(1965);
+        assertThat(dune.getCreatedAt()).isEqualTo(updated.getCreatedAt());
+        assertThat(restored.findById(2L).orElseThrow().getYear()).isNull();
+        assertThat(restored.findPage(BookFilter.builder().author("jane austen").build(), null, 10))
+                .extracting(Book::getTitle).containsExactly("Emma");
+        assertThat(restored.save(book("Next", "Author", null)).getId()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should fold closed segments into a snapshot and replay the tail on top of it")
+    void shouldReplaySnapshotAndTail() throws IOException {
+        // Given
+        FileBookJournal first = journal();
+        InMemoryBookRepository repository = open(first);
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(book("Book " + i, "Author " + (i % 10), 1900 + i % 100));
+        }
+        repository.saveAll(batch);
+        repository.deleteById(1000L);
+        first.compact();
+        repository.save(book("After snapshot", "Author", null));
+        repository.deleteById(1L);
+        first.close();
+
+        // When
+        InMemoryBookRepository restored = open(journal());
+
+        // Then
+        assertThat(Files.exists(directory.resolve("books.snapshot"))).isTrue();
+        assertThat(restored.count()).isEqualTo(999);
+        assertThat(restored.existsById(1L)).isFalse();
+        assertThat(restored.existsById(1000L)).isFalse();
+        assertThat(restored.findById(1001L).orElseThrow().getTitle()).isEqualTo("After snapshot");
+        assertThat(restored.findPage(BookFilter.builder().yearFrom(1999).build(), null, 100)).hasSize(9);
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn frame at the end of the log")
+    void shouldIgnoreTornTail() throws IOException {
+        // Given
+        FileBookJournal first = journal();
+        InMemoryBookRepository repository = open(first);
+        repository.save(book("Kept", "Author", null));
+        first.close();
+        Path segment = segments().get(0);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        InMemoryBookRepository restored = open(journal());
+        restored.save(book("Written after restart", "Author", null));
+
+        // Then
+        assertThat(restored.count()).isEqualTo(2);
+        assertThat(segments()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject writes once closed instead of leaving them waiting")
+    void shouldRejectWritesAfterClose() {
+        // Given
+        FileBookJournal journal = journal();
+        InMemoryBookRepository repository = open(journal);
+        repository.save(book("Kept", "Author", null));
+        journal.close();
+
+        // When & Then
+        assertThat(journal.recordDeleted(1L)).isCompletedExceptionally();
+        assertThatThrownBy(() -> repository.save(book("Late", "Author", null)))
+                .isInstanceOf(StorageException.class);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read records written before books had versions")
+    void shouldReadUnversionedRecords() throws Exception {
+        // Given - a segment holding one saved record in the original layout
+        Book book = Book.builder().id(5L).title("Old").author("Author").build();
+        byte[] current = BookCodec.encode(book);
+        byte[] unversioned = Arrays.copyOf(current, current.length - Long.BYTES);
+        ByteBuffer payload = ByteBuffer.allocate(1 + unversioned.length).put((byte) 1).put(unversioned);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        ByteBuffer frame = ByteBuffer.allocate(2 * Integer.BYTES + payload.capacity())
+                .putInt(payload.capacity())
+                .putInt((int) crc.getValue())
+                .put(payload.array());
+        Files.write(directory.resolve("wal-0000000000000001.log"), frame.array());
+
+        // When
+        FileBookJournal journal = journal();
+        InMemoryBookRepository repository = open(journal);
+        journal.compact();
+        journal.close();
+        InMemoryBookRepository restored = open(journal());
+
+        // Then
+        assertThat(repository.findById(5L).orElseThrow().getVersion()).isEqualTo(1L);
+        Book stored = restored.findById(5L).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Old");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(restored.save(stored.toBuilder().title("New").build()).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should round-trip every field through the codec")
+    void shouldRoundTripCodec() {
+        // Given
+        Book book = Book.builder()
+                .id(42L)
+                .title("Ünïcödé")
+                .author("Author")
+                .genre(null)
+                .year(2001)
+                .createdAt(LocalDateTime.of(2020, 1, 2, 3, 4, 5, 678_000_000))
+                .updatedAt(null)
+                .build();
+
+        // When
+        byte[] encoded = BookCodec.encode(book);
+
+        // Then
+        assertThat(BookCodec.decode(encoded)).isEqualTo(book);
+        assertThat(BookCodec.idOf(encoded)).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.bookmanagement.search;
+
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Book Search Index Tests")
+class BookSearchIndexTest {
+
+    private BookSearchIndex searchIndex;
+    private InMemoryBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new BookSearchIndex();
+        repository = new InMemoryBookRepository(List.of(searchIndex));
+
+        repository.save(book("The Great Gatsby", "F. Scott Fitzgerald"));       // 1
+        repository.save(book("Great Expectations", "Charles Dickens"));        // 2
+        repository.save(book("The Old Man and the Sea", "Ernest Hemingway"));  // 3
+        repository.save(book("Dickens: A Life", "Claire Tomalin"));           // 4
+    }
+
+    private Book book(String title, String author) {
+        return Book.builder().title(title).author(author).build();
+    }
+
+    @Test
+    @DisplayName("Should split on punctuation and lowercase tokens")
+    void shouldTokenize() {
+        assertThat(Tokenizer.tokenize("Dickens: A Life, (2011) edition"))
+                .containsExactly("dickens", "a", "life", "2011", "edition");
+    }
+
+    @Test
+    @DisplayName("Should require every word to match")
+    void shouldRequireEveryWord() {
+        assertThat(searchIndex.search("great gatsby", 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("great hemingway", 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match the last word as a prefix")
+    void shouldMatchLastWordAsPrefix() {
+        assertThat(searchIndex.search("great gat", 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("Expect", 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should rank title matches ahead of author matches")
+    void shouldRankTitleMatchesFirst() {
+        assertThat(searchIndex.search("dickens", 10).ids()).containsExactly(4L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should honour the result limit")
+    void shouldHonourLimit() {
+        assertThat(searchIndex.search("the", 1).ids()).hasSize(1);
+        assertThat(searchIndex.search("the", 10).ids()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletes without a rebuild")
+    void shouldFollowUpdatesAndDeletes() {
+        Book gatsby = repository.findById(1L).orElseThrow();
+        repository.save(gatsby.toBuilder().title("Tender Is the Night").build());
+        repository.deleteById(2L);
+
+        assertThat(searchIndex.search("gatsby", 10).ids()).isEmpty();
+        assertThat(searchIndex.search("tender night", 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("expectations", 10).ids()).isEmpty();
+        assertThat(searchIndex.search("fitzgerald", 10).ids()).containsExactly(1L);
+
+        repository.deleteAll();
+        assertThat(searchIndex.search("the", 10).ids()).isEmpty();
+        assertThat(searchIndex.termCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should score at most the candidate limit from the driving postings")
+    void shouldCapCandidates() {
+        BookSearchIndex capped = new BookSearchIndex(2);
+        InMemoryBookRepository cappedRepository = new InMemoryBookRepository(List.of(capped));
+        for (int i = 0; i < 5; i++) {
+            cappedRepository.save(book("Common title " + i, "Author"));
+        }
+        cappedRepository.save(book("Rare title", "Author"));
+
+        assertThat(capped.search("title", 10).ids()).hasSize(2);
+        assertThat(capped.search("title", 10).truncated()).isTrue();
+        assertThat(capped.search("rare title", 10).ids()).containsExactly(6L);
+        assertThat(capped.search("rare title", 10).truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report a prefix that expands to more terms than are tried")
+    void shouldReportCappedPrefixExpansion() {
+        for (int i = 0; i < 70; i++) {
+            repository.save(book(String.format("Volume%03d", i), "Archivist"));
+        }
+
+        SearchHits hits = searchIndex.search("volume", 100);
+
+        assertThat(hits.truncated()).isTrue();
+        assertThat(hits.ids()).hasSize(64);
+        assertThat(searchIndex.search("volume00", 100).truncated()).isFalse();
+        assertThat(searchIndex.search("great", 10).truncated()).isFalse();
+    }
+}
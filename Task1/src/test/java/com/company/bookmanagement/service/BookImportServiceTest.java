@@ -0,0 +1,90 @@
+package com.company.bookmanagement.service;
+
+import com.company.bookmanagement.mapper.BookMapperImpl;
+import com.company.bookmanagement.model.dto.response.ImportSummary;
+import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Import Service Tests")
+class BookImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BookImportServiceImpl(bookRepository, new BookMapperImpl(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+    }
+
+    private static InputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should report a broken line against its own record number")
+    void shouldReportBrokenLineAtItsRecord() throws IOException {
+        // Given
+        String body = """
+                {"title": "First", "author": "Someone"}
+                {"title": "Second", "author": "Someone"}
+                not json
+                {"title": "Fourth", "author": "Someone"}
+                """;
+
+        // When
+        ImportSummary summary = importService.importBooks(ndjson(body), BookImportService.Format.NDJSON);
+
+        // Then
+        assertThat(summary.isAborted()).isTrue();
+        assertThat(summary.getAccepted()).isEqualTo(2);
+        assertThat(summary.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRecord()).isEqualTo(3));
+        verify(bookRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a read failure with a failed save attached, not replaced by it")
+    void shouldNotMaskReadFailureWithSaveFailure() {
+        // Given
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        InputStream input = new SequenceInputStream(
+                ndjson("{\"title\": \"Kept\", \"author\": \"Someone\"}\n"), failing);
+        IllegalStateException saveFailure = new IllegalStateException("store unavailable");
+        given(bookRepository.saveAll(anyList())).willThrow(saveFailure);
+
+        // When & Then
+        assertThatThrownBy(() -> importService.importBooks(input, BookImportService.Format.NDJSON))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("connection reset")
+                .hasSuppressedException(saveFailure);
+    }
+}
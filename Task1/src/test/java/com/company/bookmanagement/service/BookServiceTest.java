@@ -1,13 +1,29 @@
 package com.company.bookmanagement.service;
 
 import com.company.bookmanagement.exception.BookNotFoundException;
+import com.company.bookmanagement.exception.BookPreconditionFailedException;
+import com.company.bookmanagement.exception.BookVersionConflictException;
 import com.company.bookmanagement.mapper.BookMapper;
+import com.company.bookmanagement.model.dto.request.BatchCreateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchDeleteBooksRequest;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBookItem;
+import com.company.bookmanagement.model.dto.request.BatchUpdateBooksRequest;
+import com.company.bookmanagement.model.dto.request.BookFilter;
 import com.company.bookmanagement.model.dto.request.CreateBookRequest;
 import com.company.bookmanagement.model.dto.request.UpdateBookRequest;
+import com.company.bookmanagement.model.dto.response.BatchItemStatus;
+import com.company.bookmanagement.model.dto.response.BatchResponse;
+import com.company.bookmanagement.model.dto.response.BookPage;
 import com.company.bookmanagement.model.dto.response.BookResponse;
+import com.company.bookmanagement.model.dto.response.BookSearchResult;
 import com.company.bookmanagement.model.entity.Book;
 import com.company.bookmanagement.repository.BookRepository;
+import com.company.bookmanagement.search.BookSearchIndex;
+import com.company.bookmanagement.search.SearchHits;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import com.company.bookmanagement.service.impl.BookServiceImpl;
+import com.company.bookmanagement.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -22,10 +39,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +59,12 @@ class BookServiceTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -103,39 +129,59 @@ class BookServiceTest {
     }
 
     @Nested
-    @DisplayName("getAllBooks()")
-    class GetAllBooksTests {
+    @DisplayName("getBooks()")
+    class GetBooksTests {
+
+        private final BookFilter filter = BookFilter.builder().genre("Fiction").build();
 
         @Test
-        @DisplayName("Should return all books")
+        @DisplayName("Should return all books when they fit in one page")
         void shouldReturnAllBooks() {
             // Given
             List<Book> books = Arrays.asList(sampleBook);
             List<BookResponse> responses = Arrays.asList(sampleBookResponse);
 
-            given(bookRepository.findAll()).willReturn(books);
+            given(bookRepository.findPage(filter, null, 11)).willReturn(books);
             given(bookMapper.toResponseList(books)).willReturn(responses);
 
             // When
-            List<BookResponse> result = bookService.getAllBooks();
+            BookPage result = bookService.getBooks(filter, null, 10);
 
             // Then
-            assertThat(result).hasSize(1);
-            assertThat(result.get(0).getTitle()).isEqualTo("The Great Gatsby");
+            assertThat(result.getItems()).hasSize(1);
+            assertThat(result.getItems().get(0).getTitle()).isEqualTo("The Great Gatsby");
+            assertThat(result.getNextCursor()).isNull();
         }
 
         @Test
-        @DisplayName("Should return empty list when no books exist")
+        @DisplayName("Should return next cursor when more books follow")
+        void shouldReturnNextCursorWhenMoreBooksFollow() {
+            // Given
+            Book secondBook = Book.builder().id(2L).title("1984").author("George Orwell").build();
+            given(bookRepository.findPage(filter, null, 2)).willReturn(Arrays.asList(sampleBook, secondBook));
+            given(bookMapper.toResponseList(List.of(sampleBook))).willReturn(List.of(sampleBookResponse));
+
+            // When
+            BookPage result = bookService.getBooks(filter, null, 1);
+
+            // Then
+            assertThat(result.getItems()).containsExactly(sampleBookResponse);
+            assertThat(result.getNextCursor()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should return empty page when no books exist")
         void shouldReturnEmptyListWhenNoBooksExist() {
             // Given
-            given(bookRepository.findAll()).willReturn(Collections.emptyList());
+            given(bookRepository.findPage(filter, 5L, 11)).willReturn(Collections.emptyList());
             given(bookMapper.toResponseList(Collections.emptyList())).willReturn(Collections.emptyList());
 
             // When
-            List<BookResponse> result = bookService.getAllBooks();
+            BookPage result = bookService.getBooks(filter, 5L, 10);
 
             // Then
-            assertThat(result).isEmpty();
+            assertThat(result.getItems()).isEmpty();
+            assertThat(result.getNextCursor()).isNull();
         }
     }
 
@@ -169,6 +215,55 @@ class BookServiceTest {
                     .isInstanceOf(BookNotFoundException.class)
                     .hasMessageContaining("999");
         }
+
+        @Test
+        @DisplayName("Should return the version without mapping the book")
+        void shouldReturnVersionWithoutMapping() {
+            // Given
+            given(bookRepository.findVersion(1L)).willReturn(OptionalLong.of(3L));
+
+            // When
+            long version = bookService.getBookVersion(1L);
+
+            // Then
+            assertThat(version).isEqualTo(3L);
+            verifyNoInteractions(bookMapper);
+        }
+
+        @Test
+        @DisplayName("Should throw BookNotFoundException when asked for the version of a missing book")
+        void shouldThrowWhenVersionOfMissingBook() {
+            // Given
+            given(bookRepository.findVersion(999L)).willReturn(OptionalLong.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.getBookVersion(999L))
+                    .isInstanceOf(BookNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("searchBooks()")
+    class SearchBooksTests {
+
+        @Test
+        @DisplayName("Should return books in index order and skip deleted ones")
+        void shouldReturnBooksInIndexOrder() {
+            // Given
+            Book secondBook = Book.builder().id(2L).title("Great Expectations").author("Charles Dickens").build();
+            given(bookSearchIndex.search("great", 10)).willReturn(new SearchHits(List.of(2L, 3L, 1L), true));
+            given(bookRepository.findById(2L)).willReturn(Optional.of(secondBook));
+            given(bookRepository.findById(3L)).willReturn(Optional.empty());
+            given(bookRepository.findById(1L)).willReturn(Optional.of(sampleBook));
+            given(bookMapper.toResponseList(List.of(secondBook, sampleBook))).willReturn(List.of(sampleBookResponse));
+
+            // When
+            BookSearchResult result = bookService.searchBooks("great", 10);
+
+            // Then
+            assertThat(result.getItems()).containsExactly(sampleBookResponse);
+            assertThat(result.isTruncated()).isTrue();
+        }
     }
 
     @Nested
@@ -232,6 +327,39 @@ class BookServiceTest {
 
             verify(bookRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should retry when another write changed the book in between")
+        void shouldRetryOnVersionConflict() {
+            // Given
+            UpdateBookRequest updateRequest = UpdateBookRequest.builder().title("Updated Title").build();
+            given(bookRepository.findById(1L)).willReturn(Optional.of(sampleBook));
+            given(bookRepository.save(any(Book.class)))
+                    .willThrow(new BookVersionConflictException(1L, 1L, 2L))
+                    .willAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            bookService.updateBook(1L, updateRequest);
+
+            // Then
+            verify(bookRepository, times(2)).findById(1L);
+            verify(bookRepository, times(2)).save(any(Book.class));
+        }
+
+        @Test
+        @DisplayName("Should fail the precondition when the version does not match")
+        void shouldFailPreconditionOnVersionMismatch() {
+            // Given
+            sampleBook.setVersion(3L);
+            UpdateBookRequest updateRequest = UpdateBookRequest.builder().title("Updated Title").build();
+            given(bookRepository.findById(1L)).willReturn(Optional.of(sampleBook));
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.updateBook(1L, updateRequest, 2L))
+                    .isInstanceOf(BookPreconditionFailedException.class);
+
+            verify(bookRepository, never()).save(any());
+        }
     }
 
     @Nested
@@ -268,4 +396,114 @@ class BookServiceTest {
             verify(bookRepository, never()).deleteById(any());
         }
     }
+
+    @Nested
+    @DisplayName("batch operations")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should create valid items in one repository call and report invalid ones")
+        void shouldCreateValidItemsAndReportInvalidOnes() {
+            // Given
+            CreateBookRequest invalidRequest = CreateBookRequest.builder().author("Author Name").build();
+            BatchCreateBooksRequest request = BatchCreateBooksRequest.builder()
+                    .items(List.of(createRequest, invalidRequest))
+                    .build();
+            Book newBook = Book.builder().title("The Great Gatsby").author("F. Scott Fitzgerald").build();
+            given(bookMapper.toEntity(createRequest)).willReturn(newBook);
+            given(bookRepository.saveAll(List.of(newBook))).willAnswer(invocation -> {
+                newBook.setId(42L);
+                return List.of(newBook);
+            });
+
+            // When
+            BatchResponse result = bookService.createBooks(request);
+
+            // Then
+            assertThat(result.getTotal()).isEqualTo(2);
+            assertThat(result.getSucceeded()).isEqualTo(1);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getResults().get(0).getStatus()).isEqualTo(BatchItemStatus.CREATED);
+            assertThat(result.getResults().get(0).getId()).isEqualTo(42L);
+            assertThat(result.getResults().get(1).getStatus()).isEqualTo(BatchItemStatus.INVALID);
+            assertThat(result.getResults().get(1).getFieldErrors()).containsKey("title");
+            verify(bookRepository, times(1)).saveAll(any());
+            verify(bookRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should update existing books on copies and report missing ones")
+        void shouldUpdateExistingBooksAndReportMissingOnes() {
+            // Given
+            UpdateBookRequest changes = UpdateBookRequest.builder().title("Updated Title").build();
+            BatchUpdateBooksRequest request = BatchUpdateBooksRequest.builder()
+                    .items(List.of(
+                            BatchUpdateBookItem.builder().id(1L).changes(changes).build(),
+                            BatchUpdateBookItem.builder().id(999L).changes(changes).build(),
+                            BatchUpdateBookItem.builder().id(2L).build()))
+                    .build();
+            given(bookRepository.findById(1L)).willReturn(Optional.of(sampleBook));
+            given(bookRepository.findById(999L)).willReturn(Optional.empty());
+
+            // When
+            BatchResponse result = bookService.updateBooks(request);
+
+            // Then
+            assertThat(result.getResults()).extracting("status")
+                    .containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.NOT_FOUND, BatchItemStatus.INVALID);
+            assertThat(result.getResults().get(2).getFieldErrors()).containsKey("changes");
+            verify(bookMapper).updateEntityFromRequest(eq(changes), argThat(book -> book != sampleBook));
+            verify(bookRepository).save(argThat(book -> book != sampleBook));
+        }
+
+        @Test
+        @DisplayName("Should report a book that stays contended as a conflict and go on with the batch")
+        void shouldReportConflictPerItem() {
+            // Given
+            UpdateBookRequest changes = UpdateBookRequest.builder().title("Updated Title").build();
+            BatchUpdateBooksRequest request = BatchUpdateBooksRequest.builder()
+                    .items(List.of(
+                            BatchUpdateBookItem.builder().id(1L).changes(changes).build(),
+                            BatchUpdateBookItem.builder().id(2L).changes(changes).build()))
+                    .build();
+            Book contended = sampleBook.toBuilder().id(2L).build();
+            given(bookRepository.findById(1L)).willReturn(Optional.of(sampleBook));
+            given(bookRepository.findById(2L)).willReturn(Optional.of(contended));
+            given(bookRepository.save(any())).willAnswer(invocation -> {
+                Book book = invocation.getArgument(0);
+                if (book.getId() == 2L) {
+                    throw new BookVersionConflictException(2L, 1L, 2L);
+                }
+                return book;
+            });
+
+            // When
+            BatchResponse result = bookService.updateBooks(request);
+
+            // Then
+            assertThat(result.getResults()).extracting("status")
+                    .containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.CONFLICT);
+            assertThat(result.getResults().get(1).getErrorCode()).isEqualTo("BOOK-003");
+            assertThat(result.getFailed()).isEqualTo(1);
+            verify(bookRepository, times(Constants.MAX_UPDATE_ATTEMPTS)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Should report deleted and missing IDs")
+        void shouldReportDeletedAndMissingIds() {
+            // Given
+            BatchDeleteBooksRequest request = BatchDeleteBooksRequest.builder()
+                    .ids(List.of(1L, 999L, 1L))
+                    .build();
+            given(bookRepository.deleteAllById(request.getIds())).willReturn(List.of(1L));
+
+            // When
+            BatchResponse result = bookService.deleteBooks(request);
+
+            // Then
+            assertThat(result.getResults()).extracting("status")
+                    .containsExactly(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND, BatchItemStatus.NOT_FOUND);
+            assertThat(result.getSucceeded()).isEqualTo(1);
+        }
+    }
 }
\ No newline at end of file
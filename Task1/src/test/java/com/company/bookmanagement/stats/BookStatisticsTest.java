@@ -0,0 +1,72 @@
+package com.company.bookmanagement.stats;
+
+import com.company.bookmanagement.model.dto.response.CatalogStats;
+import com.company.bookmanagement.model.entity.Book;
+import com.company.bookmanagement.repository.impl.InMemoryBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Book Statistics Tests")
+class BookStatisticsTest {
+
+    private BookStatistics statistics;
+    private InMemoryBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new BookStatistics();
+        repository = new InMemoryBookRepository(List.of(statistics));
+
+        repository.save(book("1984", "George Orwell", 1949, "Dystopian"));          // 1
+        repository.save(book("Animal Farm", "george orwell", 1945, "Satire"));      // 2
+        repository.save(book("Brave New World", "Aldous Huxley", 1932, "Dystopian")); // 3
+        repository.save(book("Untitled", "Anonymous", null, null));                // 4
+    }
+
+    private Book book(String title, String author, Integer year, String genre) {
+        return Book.builder().title(title).author(author).year(year).genre(genre).build();
+    }
+
+    @Test
+    @DisplayName("Should count books per group, case-insensitively")
+    void shouldCountInserts() {
+        CatalogStats stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByGenre()).isEqualTo(Map.of("dystopian", 2L, "satire", 1L));
+        assertThat(stats.getByAuthor()).isEqualTo(Map.of("george orwell", 2L, "aldous huxley", 1L, "anonymous", 1L));
+        assertThat(stats.getByDecade()).isEqualTo(Map.of(1940, 2L, 1930, 1L));
+        assertThat(stats.getByYear()).isEqualTo(Map.of(1949, 1L, 1945, 1L, 1932, 1L));
+    }
+
+    @Test
+    @DisplayName("Should move books between groups on update and drop them on delete")
+    void shouldFollowUpdatesAndDeletes() {
+        Book changed = repository.findById(3L).orElseThrow().toBuilder().build();
+        changed.setGenre("Science Fiction");
+        changed.setYear(1962);
+        repository.save(changed);
+        repository.deleteById(2L);
+
+        CatalogStats stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getByGenre()).isEqualTo(Map.of("dystopian", 1L, "science fiction", 1L));
+        assertThat(stats.getByDecade()).isEqualTo(Map.of(1940, 1L, 1960, 1L));
+    }
+
+    @Test
+    @DisplayName("Should match a full recount")
+    void shouldMatchRecompute() {
+        repository.deleteById(1L);
+        repository.save(book("Island", "Aldous Huxley", 1962, "Fiction"));
+
+        assertThat(statistics.snapshot()).isEqualTo(BookStatistics.recompute(repository.findAll()));
+    }
+}
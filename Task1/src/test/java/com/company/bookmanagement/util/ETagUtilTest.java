@@ -0,0 +1,33 @@
+package com.company.bookmanagement.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ETag Util Tests")
+class ETagUtilTest {
+
+    @Test
+    @DisplayName("Should read the version back from a tag of the same book")
+    void shouldParseOwnTag() {
+        String etag = ETagUtil.etagOf(7L, 3L);
+
+        assertThat(ETagUtil.expectedVersion("\"other\", " + etag, 7L)).isEqualTo(3L);
+        assertThat(ETagUtil.expectedVersion(etag, 8L)).isEqualTo(ETagUtil.UNMATCHED_VERSION);
+        assertThat(ETagUtil.expectedVersion("W/" + etag, 7L)).isEqualTo(ETagUtil.UNMATCHED_VERSION);
+        assertThat(ETagUtil.expectedVersion("*", 7L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stop matching tags from before IDs were reset")
+    void shouldRejectTagsFromEarlierEpoch() {
+        String etag = ETagUtil.etagOf(1L, 1L);
+
+        ETagUtil.renewEpoch();
+
+        assertThat(ETagUtil.etagOf(1L, 1L)).isNotEqualTo(etag);
+        assertThat(ETagUtil.expectedVersion(etag, 1L)).isEqualTo(ETagUtil.UNMATCHED_VERSION);
+        assertThat(ETagUtil.expectedVersion("\"1-1\"", 1L)).isEqualTo(ETagUtil.UNMATCHED_VERSION);
+    }
+}
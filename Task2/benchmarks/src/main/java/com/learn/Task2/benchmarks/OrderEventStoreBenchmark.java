@@ -0,0 +1,117 @@
+package com.learn.Task2.benchmarks;
+
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.OrderRepository;
+import com.learn.Task2.repository.impl.EventSourcedOrderRepository;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import com.learn.Task2.repository.persistence.OrderEventLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and startup cost of the event-sourced order store. lifecycle creates an order
+ * and moves it through approve, pay, ship and close, in memory only or appending each
+ * change to the log. replay rebuilds every projection from a log of complete lifecycles.
+ * The log starts empty each iteration, so lifecycle runs write a few hundred MB to the
+ * temp directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderEventStoreBenchmark {
+
+    @State(Scope.Thread)
+    public static class Store {
+
+        @Param({"memory", "eventsourced"})
+        public String store;
+
+        OrderRepository repository;
+        OrderEventLog eventLog;
+        Path file;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            if (store.equals("eventsourced")) {
+                file = Files.createTempFile("order-events", ".ndjson");
+                eventLog = new OrderEventLog(file);
+                EventSourcedOrderRepository eventSourced = new EventSourcedOrderRepository(eventLog);
+                eventSourced.replay();
+                repository = eventSourced;
+            } else {
+                repository = new InMemoryOrderRepository();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            if (eventLog != null) {
+                eventLog.close();
+                Files.delete(file);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Log {
+
+        @Param({"10000", "100000"})
+        public int orders;
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            file = Files.createTempFile("order-events", ".ndjson");
+            try (OrderEventLog eventLog = new OrderEventLog(file)) {
+                EventSourcedOrderRepository repository = new EventSourcedOrderRepository(eventLog);
+                repository.replay();
+                for (int i = 0; i < orders; i++) {
+                    runLifecycle(repository);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public Order lifecycle(Store state) {
+        return runLifecycle(state.repository);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public EventSourcedOrderRepository replay(Log state) throws IOException {
+        try (OrderEventLog eventLog = new OrderEventLog(state.file)) {
+            EventSourcedOrderRepository repository = new EventSourcedOrderRepository(eventLog);
+            repository.replay();
+            return repository;
+        }
+    }
+
+    private static Order runLifecycle(OrderRepository repository) {
+        Long id = repository.save(Order.builder()
+                .customerName("Customer")
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.CREATED)
+                .build()).getId();
+        repository.transition(id, OrderState.CREATED, OrderState.APPROVED);
+        repository.transition(id, OrderState.APPROVED, OrderState.PAID);
+        repository.transition(id, OrderState.PAID, OrderState.SHIPPED);
+        return repository.transition(id, OrderState.SHIPPED, OrderState.CLOSED);
+    }
+}
@@ -0,0 +1,86 @@
+package com.learn.Task2.benchmarks;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import com.learn.Task2.statemachine.OrderStateMachine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full lifecycle (approve, pay, ship, close, then a reset to CREATED) through the
+ * table-driven OrderStateMachine versus the per-method code it replaced, which checked
+ * the state, set it through OrderState.valueOf(X.toString()) and saved the mutated
+ * order. Run with -prof gc to compare allocation per lifecycle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderStateMachineBenchmark {
+
+    private InMemoryOrderRepository repository;
+    private OrderStateMachine stateMachine;
+    private Long id;
+    private LocalDateTime createdAt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        stateMachine = new OrderStateMachine(repository, List.of(), List.of());
+        Order order = repository.save(Order.builder()
+                .customerName("Customer")
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.CREATED)
+                .build());
+        id = order.getId();
+        createdAt = order.getCreatedAt();
+    }
+
+    private Order reset() {
+        return repository.save(Order.builder()
+                .id(id)
+                .customerName("Customer")
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.CREATED)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    @Benchmark
+    public Order stateMachine() {
+        stateMachine.fire(id, OrderEvent.APPROVE);
+        stateMachine.fire(id, OrderEvent.PAY);
+        stateMachine.fire(id, OrderEvent.SHIP);
+        stateMachine.fire(id, OrderEvent.CLOSE);
+        return reset();
+    }
+
+    @Benchmark
+    public Order perMethod() {
+        legacyTransition(id, OrderState.CREATED, OrderState.APPROVED);
+        legacyTransition(id, OrderState.APPROVED, OrderState.PAID);
+        legacyTransition(id, OrderState.PAID, OrderState.SHIPPED);
+        legacyTransition(id, OrderState.SHIPPED, OrderState.CLOSED);
+        return reset();
+    }
+
+    // Body shared by the former approve/pay/ship/close methods of OrderServiceImpl
+    private Order legacyTransition(Long id, OrderState expected, OrderState next) {
+        Order order = repository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+        if (order.getState() != expected) {
+            throw new InvalidOrderStateException("Expected state" + expected + "but was" + order.getState());
+        }
+        order.setState(OrderState.valueOf(next.toString()));
+        return repository.save(order);
+    }
+}
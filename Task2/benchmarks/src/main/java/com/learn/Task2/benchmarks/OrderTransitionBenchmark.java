@@ -0,0 +1,91 @@
+package com.learn.Task2.benchmarks;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four threads advancing a few hot orders through their lifecycle, CLOSED wrapping back
+ * to CREATED. "transition" is the repository's atomic compare-and-set; "checkThenSave"
+ * is the earlier read, check, set and save sequence, which lets two threads make the
+ * same transition. The won/lost counters show how often an attempt found the order
+ * already moved; checkThenSave cannot tell, so every attempt counts as won.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class OrderTransitionBenchmark {
+
+    private static final OrderState[] STATES = OrderState.values();
+
+    @Param({"1", "16", "1024"})
+    private int hotOrders;
+
+    private InMemoryOrderRepository repository;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long won;
+        public long lost;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            won = 0;
+            lost = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        for (int i = 0; i < hotOrders; i++) {
+            repository.save(Order.builder()
+                    .customerName("Customer " + i)
+                    .totalAmount(BigDecimal.TEN)
+                    .state(OrderState.CREATED)
+                    .build());
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, hotOrders + 1);
+    }
+
+    private static OrderState following(OrderState state) {
+        return STATES[(state.ordinal() + 1) % STATES.length];
+    }
+
+    @Benchmark
+    public Order transition(Outcomes outcomes) {
+        long id = randomId();
+        OrderState seen = repository.findById(id).orElseThrow().getState();
+        try {
+            Order order = repository.transition(id, seen, following(seen));
+            outcomes.won++;
+            return order;
+        } catch (InvalidOrderStateException ex) {
+            outcomes.lost++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Order checkThenSave(Outcomes outcomes) {
+        // The state check always passes on the instance just read, which is the race
+        Order order = repository.findById(randomId()).orElseThrow();
+        order.setState(following(order.getState()));
+        outcomes.won++;
+        return repository.save(order);
+    }
+}
@@ -0,0 +1,20 @@
+package com.learn.Task2.config;
+
+import com.learn.Task2.repository.persistence.OrderEventLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+@Profile("eventsourced")
+public class EventStoreConfig {
+
+    // Closed on shutdown through AutoCloseable
+    @Bean
+    public OrderEventLog orderEventLog(@Value("${orders.event-store.file:data/order-events.ndjson}") Path file) {
+        return new OrderEventLog(file);
+    }
+}
@@ -1,14 +1,32 @@
 package com.learn.Task2.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.learn.Task2.model.dto.request.BatchTransitionRequest;
 import com.learn.Task2.model.dto.request.CreateOrderRequest;
+import com.learn.Task2.model.dto.request.TransitionItem;
+import com.learn.Task2.model.dto.response.OrderHistoryEntry;
+import com.learn.Task2.model.dto.response.OrderPage;
 import com.learn.Task2.model.dto.response.OrderResponse;
+import com.learn.Task2.model.dto.response.TransitionResult;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
 import com.learn.Task2.service.OrderService;
+import com.learn.Task2.util.Constants;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("api/orders")
@@ -16,9 +34,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService service;
+    private final ObjectWriter resultWriter;
 
-    public OrderController(OrderService service) {
+    public OrderController(OrderService service, ObjectMapper objectMapper) {
         this.service = service;
+        // Lines share the response stream, which is flushed per chunk, not per line, and closed once
+        this.resultWriter = objectMapper.writerFor(TransitionResult.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping(
@@ -30,6 +53,22 @@ public class OrderController {
         return service.create(request);
     }
 
+    // Keyset pagination: pass the X-Next-Cursor header of one page as "after" for the next
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<OrderResponse>> list(
+            @RequestParam(required = false) OrderState state,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE)
+            @Min(1) @Max(Constants.MAX_PAGE_SIZE) int limit) {
+        OrderPage page = service.list(state, customer, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(Constants.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+
     @GetMapping(
             value = "/{id}",
             produces = MediaType.APPLICATION_JSON_VALUE
@@ -38,6 +77,15 @@ public class OrderController {
         return service.get(id);
     }
 
+    // Oldest first; only the event-sourced store records history
+    @GetMapping(
+            value = "/{id}/history",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public List<OrderHistoryEntry> history(@PathVariable Long id) {
+        return service.history(id);
+    }
+
     @PostMapping(
             value = "/{id}/approve",
             produces = MediaType.APPLICATION_JSON_VALUE)
@@ -66,5 +114,43 @@ public class OrderController {
         return service.close(id);
     }
 
+    @PostMapping(
+            value= "/{id}/transitions/{event}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public OrderResponse transition(@PathVariable Long id, @PathVariable String event) {
+        return service.transition(id, OrderEvent.fromName(event));
+    }
+
+    // Per-item outcomes in request order; one failing item does not fail the batch
+    @PostMapping(
+            value= "/transitions:batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<TransitionResult> transitionAll(@Valid @RequestBody BatchTransitionRequest request) {
+        return service.transitionAll(request.getItems());
+    }
+
+    // Same results as NDJSON, written and flushed chunk by chunk as they are applied
+    @PostMapping(
+            value= "/transitions:batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransitionAll(@Valid @RequestBody BatchTransitionRequest request) {
+        List<TransitionItem> items = request.getItems();
+        StreamingResponseBody body = outputStream -> {
+            for (int start = 0; start < items.size(); start += Constants.BATCH_CHUNK_SIZE) {
+                List<TransitionItem> chunk = items.subList(start, Math.min(items.size(), start + Constants.BATCH_CHUNK_SIZE));
+                for (TransitionResult result : service.transitionAll(chunk)) {
+                    resultWriter.writeValue(outputStream, result);
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
 
 }
@@ -1,7 +1,10 @@
 package com.learn.Task2.controller.advice;
 
 import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderHistoryUnavailableException;
 import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.exception.UnknownOrderEventException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -40,5 +43,30 @@ public class GlobalExceptionHandler {
     public Map<String, String> handleInvalidState(InvalidOrderStateException ex) {
         return Map.of("error", ex.getMessage());
     }
-}
 
+    @ExceptionHandler(UnknownOrderEventException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleUnknownEvent(UnknownOrderEventException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(OrderHistoryUnavailableException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public Map<String, String> handleHistoryUnavailable(OrderHistoryUnavailableException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleConstraintViolation(ConstraintViolationException ex) {
+        List<String> errors = ex.getConstraintViolations()
+                .stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .toList();
+
+        return Map.of(
+                "error", "Validation failed",
+                "details", errors
+        );
+    }
+}
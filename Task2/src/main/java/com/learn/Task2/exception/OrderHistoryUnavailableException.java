@@ -0,0 +1,7 @@
+package com.learn.Task2.exception;
+
+public class OrderHistoryUnavailableException extends RuntimeException {
+    public OrderHistoryUnavailableException() {
+        super("Order history is only recorded by the event-sourced store (profile 'eventsourced')");
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.Task2.exception;
+
+public class UnknownOrderEventException extends RuntimeException {
+    public UnknownOrderEventException(String event) {
+        super("Unknown order event: " + event);
+    }
+}
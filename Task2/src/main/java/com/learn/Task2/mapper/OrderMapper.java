@@ -2,12 +2,16 @@ package com.learn.Task2.mapper;
 
 
 import com.learn.Task2.model.dto.request.CreateOrderRequest;
+import com.learn.Task2.model.dto.response.OrderHistoryEntry;
 import com.learn.Task2.model.dto.response.OrderResponse;
 import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderChange;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import java.util.List;
+
 @Mapper(
         componentModel = "spring",
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
@@ -21,5 +25,11 @@ public interface OrderMapper {
     Order toEntity(CreateOrderRequest order);
     OrderResponse toDto(Order order);
 
+    List<OrderResponse> toDtoList(List<Order> orders);
+
+    OrderHistoryEntry toHistoryEntry(OrderChange change);
+
+    List<OrderHistoryEntry> toHistory(List<OrderChange> changes);
+
 
 }
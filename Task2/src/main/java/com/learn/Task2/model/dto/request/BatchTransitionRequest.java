@@ -0,0 +1,22 @@
+package com.learn.Task2.model.dto.request;
+
+import com.learn.Task2.util.Constants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransitionRequest {
+
+    @NotEmpty(message = "At least one transition is required")
+    @Size(max = Constants.MAX_BATCH_SIZE, message = "At most " + Constants.MAX_BATCH_SIZE + " transitions per batch")
+    private List<@Valid @NotNull TransitionItem> items;
+}
@@ -0,0 +1,19 @@
+package com.learn.Task2.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransitionItem {
+
+    @NotNull(message = "Order id is required")
+    private Long id;
+
+    @NotBlank(message = "Event is required")
+    private String event;
+}
@@ -0,0 +1,24 @@
+package com.learn.Task2.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.learn.Task2.model.entity.OrderState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One recorded change; customer name and amount only appear on the save that set them
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderHistoryEntry {
+
+    private Long sequence;
+    private OrderState state;
+    private LocalDateTime occurredAt;
+    private String customerName;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,17 @@
+package com.learn.Task2.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of orders; nextCursor is the "after" value for the following page, null on the last
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage {
+
+    private List<OrderResponse> items;
+    private Long nextCursor;
+}
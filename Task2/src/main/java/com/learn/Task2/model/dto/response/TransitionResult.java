@@ -0,0 +1,19 @@
+package com.learn.Task2.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.learn.Task2.model.entity.OrderState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One batch item: the new state on success, otherwise the error; absent fields are omitted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransitionResult {
+
+    private Long id;
+    private OrderState state;
+    private String error;
+}
@@ -21,7 +21,7 @@ import java.time.LocalDateTime;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
@@ -0,0 +1,19 @@
+package com.learn.Task2.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * One entry of the order event log: the order reached state at occurredAt. Sequence
+ * numbers are global and follow log order. Saves also carry the customer name and
+ * amount; transitions leave them null, since those never change.
+ */
+public record OrderChange(
+        long sequence,
+        long orderId,
+        OrderState state,
+        LocalDateTime occurredAt,
+        String customerName,
+        BigDecimal totalAmount
+) {
+}
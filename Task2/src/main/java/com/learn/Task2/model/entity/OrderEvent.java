@@ -0,0 +1,23 @@
+package com.learn.Task2.model.entity;
+
+import com.learn.Task2.exception.UnknownOrderEventException;
+
+// What a client asks to happen to an order; OrderStateMachine decides the resulting state
+public enum OrderEvent {
+    APPROVE,
+    PAY,
+    SHIP,
+    CLOSE;
+
+    private static final OrderEvent[] VALUES = values();
+
+    // Case-insensitive, so paths can use lower case: /transitions/pay
+    public static OrderEvent fromName(String name) {
+        for (OrderEvent event : VALUES) {
+            if (event.name().equalsIgnoreCase(name)) {
+                return event;
+            }
+        }
+        throw new UnknownOrderEventException(name);
+    }
+}
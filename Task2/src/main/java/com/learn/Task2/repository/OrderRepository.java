@@ -1,11 +1,35 @@
 package com.learn.Task2.repository;
 
+import com.learn.Task2.exception.OrderHistoryUnavailableException;
 import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderChange;
+import com.learn.Task2.model.entity.OrderState;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     Order save(Order order);
 
     Optional<Order> findById(Long id);
+
+    /*
+     * Atomically moves the order from expected to next and returns the updated order.
+     * Of several concurrent calls with the same expected state exactly one succeeds;
+     * the others fail with InvalidOrderStateException, as does a call for an order in
+     * any other state. Throws OrderNotFoundException if the order does not exist.
+     */
+    Order transition(Long id, OrderState expected, OrderState next);
+
+    // Up to limit orders after afterId in ID order; null state or customer name matches any
+    List<Order> findPage(OrderState state, String customerName, Long afterId, int limit);
+
+    /*
+     * Every change of the order, oldest first. Throws OrderNotFoundException if the order
+     * does not exist; stores that keep only the latest state throw
+     * OrderHistoryUnavailableException.
+     */
+    default List<OrderChange> findHistory(Long id) {
+        throw new OrderHistoryUnavailableException();
+    }
 }
@@ -0,0 +1,228 @@
+package com.learn.Task2.repository.impl;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderChange;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.OrderRepository;
+import com.learn.Task2.repository.persistence.OrderEventLog;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Orders as an append-only log of changes. Every save and transition appends one
+ * change to the OrderEventLog; the latest state of each order is a cached projection
+ * next to its own change list.
+ *
+ * A write runs in three steps. Inside ConcurrentHashMap.compute() it checks the order
+ * and reserves the order's next change; the append itself happens outside compute(),
+ * so disk I/O never holds a map bin (which would also hold up unrelated orders in that
+ * bin, and pin a virtual thread's carrier); a second compute() then publishes the new
+ * projection and clears the reservation, or just clears it if the append failed. Only
+ * one change per order is in flight, so an order's changes reach the log in order, and
+ * an order never shows a state the log does not have. A write that finds the order
+ * reserved fails with InvalidOrderStateException, as it would have once the other
+ * write had moved the order on.
+ *
+ * On startup the log is streamed once, line by line, and each change is filed under
+ * its order in log order; the projections are then rebuilt in parallel, every order
+ * folded independently.
+ */
+@Repository
+@Profile("eventsourced")
+@Slf4j
+public class EventSourcedOrderRepository implements OrderRepository {
+
+    private final Map<Long, OrderStream> streams = new ConcurrentHashMap<>();
+
+    private final AtomicLong idGenerator = new AtomicLong(0);
+
+    private final OrderIndex index = new OrderIndex();
+
+    private final OrderEventLog eventLog;
+
+    public EventSourcedOrderRepository(OrderEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @PostConstruct
+    public void replay(){
+        long started = System.nanoTime();
+        Map<Long, List<OrderChange>> byOrder = new HashMap<>();
+        long changes = eventLog.open(change ->
+                byOrder.computeIfAbsent(change.orderId(), id -> new ArrayList<>()).add(change));
+        byOrder.entrySet().parallelStream().forEach(entry -> {
+            Order order = null;
+            for (OrderChange change : entry.getValue()) {
+                order = project(order, change);
+            }
+            index.update(entry.getKey(), null, order);
+            streams.put(entry.getKey(), new OrderStream(order, List.copyOf(entry.getValue()), false));
+        });
+        idGenerator.set(byOrder.keySet().stream().mapToLong(Long::longValue).max().orElse(0));
+        log.info("Rebuilt {} orders from {} changes in {} ms", streams.size(), changes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public Order save(Order order){
+        LocalDateTime now = LocalDateTime.now();
+        if (order.getId()== null){
+            order.setId(idGenerator.incrementAndGet());
+            order.setCreatedAt(now);
+        }
+        order.setUpdatedAt(now);
+
+        // An unknown ID gets a placeholder that stays invisible until the change is published
+        OrderStream reserved = streams.compute(order.getId(), (id, stream) ->
+                stream == null ? OrderStream.EMPTY.reserve(id) : stream.reserve(id));
+        Order previous = reserved.current();
+        if (previous != null) {
+            // Replay takes creation time from an order's first change
+            order.setCreatedAt(previous.getCreatedAt());
+        }
+        OrderChange change = appendOrRelease(order.getId(), order.getState(), now,
+                order.getCustomerName(), order.getTotalAmount());
+        publish(order.getId(), order, change);
+        return order;
+    }
+
+    @Override
+    public Optional<Order> findById(Long id){
+        return Optional.ofNullable(current(id));
+    }
+
+    @Override
+    public Order transition(Long id, OrderState expected, OrderState next){
+        OrderStream reserved = streams.computeIfPresent(id, (key, stream) -> {
+            Order current = stream.current();
+            if (current == null){
+                // A new order whose first change is not published yet
+                return stream;
+            }
+            if (current.getState() != expected){
+                // Thrown before anything is appended, so neither the log nor the projection changes
+                throw new InvalidOrderStateException(
+                        "Expected state " + expected + " but was " + current.getState()
+                );
+            }
+            return stream.reserve(key);
+        });
+        if (reserved == null || reserved.current() == null){
+            throw new OrderNotFoundException(id);
+        }
+        OrderChange change = appendOrRelease(id, next, LocalDateTime.now(), null, null);
+        Order moved = project(reserved.current(), change);
+        publish(id, moved, change);
+        return moved;
+    }
+
+    @Override
+    public List<Order> findPage(OrderState state, String customerName, Long afterId, int limit){
+        return index.findPage(state, customerName, afterId, limit, this::current);
+    }
+
+    @Override
+    public List<OrderChange> findHistory(Long id){
+        OrderStream stream = streams.get(id);
+        if (stream == null || stream.current() == null){
+            throw new OrderNotFoundException(id);
+        }
+        return stream.changes();
+    }
+
+    private Order current(long id){
+        OrderStream stream = streams.get(id);
+        return stream == null ? null : stream.current();
+    }
+
+    private OrderChange appendOrRelease(long id, OrderState state, LocalDateTime occurredAt,
+                                        String customerName, BigDecimal totalAmount){
+        try {
+            return eventLog.append(id, state, occurredAt, customerName, totalAmount);
+        } catch (RuntimeException ex) {
+            release(id);
+            throw ex;
+        }
+    }
+
+    private void publish(Long id, Order current, OrderChange change){
+        streams.compute(id, (key, stream) -> {
+            index.update(key, stream.current(), current);
+            return stream.append(current, change);
+        });
+    }
+
+    private void release(Long id){
+        streams.computeIfPresent(id, (key, stream) -> stream.current() == null ? null : stream.release());
+    }
+
+    // The order after change; a change without customer or amount keeps the previous ones
+    private static Order project(Order previous, OrderChange change){
+        if (previous == null) {
+            return Order.builder()
+                    .id(change.orderId())
+                    .customerName(change.customerName())
+                    .totalAmount(change.totalAmount())
+                    .state(change.state())
+                    .createdAt(change.occurredAt())
+                    .updatedAt(change.occurredAt())
+                    .build();
+        }
+        Order.OrderBuilder next = previous.toBuilder()
+                .state(change.state())
+                .updatedAt(change.occurredAt());
+        if (change.customerName() != null) {
+            next.customerName(change.customerName());
+        }
+        if (change.totalAmount() != null) {
+            next.totalAmount(change.totalAmount());
+        }
+        return next.build();
+    }
+
+    /*
+     * Latest projection plus the order's changes, oldest first; replaced as a whole.
+     * current is null only for a new order whose first change is still being appended.
+     * pending marks the order's change in flight.
+     */
+    private record OrderStream(Order current, List<OrderChange> changes, boolean pending) {
+
+        static final OrderStream EMPTY = new OrderStream(null, List.of(), false);
+
+        OrderStream reserve(long id){
+            if (pending) {
+                throw new InvalidOrderStateException("Order " + id + " has another change in progress");
+            }
+            return new OrderStream(current, changes, true);
+        }
+
+        OrderStream release(){
+            return new OrderStream(current, changes, false);
+        }
+
+        OrderStream append(Order next, OrderChange change){
+            // Orders see a handful of changes, so copying the list is cheaper than sharing a mutable one
+            List<OrderChange> appended = new ArrayList<>(changes.size() + 1);
+            appended.addAll(changes);
+            appended.add(change);
+            return new OrderStream(next, Collections.unmodifiableList(appended), false);
+        }
+    }
+
+}
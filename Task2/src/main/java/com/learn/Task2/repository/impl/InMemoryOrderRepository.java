@@ -1,17 +1,29 @@
 package com.learn.Task2.repository.impl;
 
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
 import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
 import com.learn.Task2.repository.OrderRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/*
+ * Stored orders are never modified in place: a transition checks the state and stores
+ * an updated copy inside ConcurrentHashMap.compute(), which locks only that order's
+ * bin. Readers holding an earlier instance keep a consistent view. Callers of save()
+ * likewise pass a new instance rather than one they got from findById.
+ */
 @Repository
+@Profile("!eventsourced")
 @Slf4j
 public class InMemoryOrderRepository implements OrderRepository {
 
@@ -20,16 +32,21 @@ public class InMemoryOrderRepository implements OrderRepository {
 
     private final AtomicLong idGenerator = new AtomicLong(0);
 
+    private final OrderIndex index = new OrderIndex();
+
     @Override
     public Order save(Order order){
 
         if (order.getId()== null){
-            order.setId(idGenerator.getAndIncrement());
+            order.setId(idGenerator.incrementAndGet());
             order.setCreatedAt(LocalDateTime.now());
         }
 
         order.setUpdatedAt(LocalDateTime.now());
-        store.put(order.getId(), order);
+        store.compute(order.getId(), (id, previous) -> {
+            index.update(id, previous, order);
+            return order;
+        });
         return order;
     }
 
@@ -38,5 +55,31 @@ public class InMemoryOrderRepository implements OrderRepository {
         return Optional.ofNullable(store.get(id));
     }
 
-}
+    @Override
+    public Order transition(Long id, OrderState expected, OrderState next){
+        Order updated = store.computeIfPresent(id, (key, current) -> {
+            if (current.getState() != expected){
+                // Thrown inside compute, so the stored order is left as it was
+                throw new InvalidOrderStateException(
+                        "Expected state " + expected + " but was " + current.getState()
+                );
+            }
+            Order moved = current.toBuilder()
+                    .state(next)
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            index.update(key, current, moved);
+            return moved;
+        });
+        if (updated == null){
+            throw new OrderNotFoundException(id);
+        }
+        return updated;
+    }
 
+    @Override
+    public List<Order> findPage(OrderState state, String customerName, Long afterId, int limit){
+        return index.findPage(state, customerName, afterId, limit, store::get);
+    }
+
+}
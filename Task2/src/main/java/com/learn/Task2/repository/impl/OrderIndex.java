@@ -0,0 +1,104 @@
+package com.learn.Task2.repository.impl;
+
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongFunction;
+
+/*
+ * ID, state and customer indexes shared by the order repositories. The sets are
+ * lock-free, and update() must run inside the repository's compute() for the order, so
+ * an order's entries change atomically with it while different orders update in
+ * parallel. Readers re-check every candidate against the stored order, since an index
+ * may briefly be ahead of or behind the store.
+ */
+class OrderIndex {
+
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    private final Map<OrderState, NavigableSet<Long>> byState = new EnumMap<>(OrderState.class);
+
+    // Keyed by the lower-cased customer name; orders are never deleted, so sets are never removed
+    private final Map<String, NavigableSet<Long>> byCustomer = new ConcurrentHashMap<>();
+
+    OrderIndex() {
+        for (OrderState state : OrderState.values()) {
+            byState.put(state, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    void update(Long id, Order previous, Order current){
+        if (previous == null) {
+            ids.add(id);
+        }
+
+        OrderState previousState = previous == null ? null : previous.getState();
+        if (previousState != current.getState()) {
+            // Add before removing, so a reader of the new state never misses a committed order
+            if (current.getState() != null) {
+                byState.get(current.getState()).add(id);
+            }
+            if (previousState != null) {
+                byState.get(previousState).remove(id);
+            }
+        }
+
+        // Transitions keep the name, so skip normalizing it, which copies any name with capitals
+        if (previous != null && Objects.equals(previous.getCustomerName(), current.getCustomerName())) {
+            return;
+        }
+        String previousCustomer = previous == null ? null : normalize(previous.getCustomerName());
+        String currentCustomer = normalize(current.getCustomerName());
+        if (!Objects.equals(previousCustomer, currentCustomer)) {
+            if (currentCustomer != null) {
+                byCustomer.computeIfAbsent(currentCustomer, key -> new ConcurrentSkipListSet<>()).add(id);
+            }
+            if (previousCustomer != null) {
+                byCustomer.get(previousCustomer).remove(id);
+            }
+        }
+    }
+
+    List<Order> findPage(OrderState state, String customerName, Long afterId, int limit, LongFunction<Order> lookup){
+        String customer = normalize(customerName);
+        // A customer's orders are usually far fewer than those in any one state
+        NavigableSet<Long> candidates;
+        if (customer != null) {
+            candidates = byCustomer.getOrDefault(customer, Collections.emptyNavigableSet());
+        } else if (state != null) {
+            candidates = byState.get(state);
+        } else {
+            candidates = ids;
+        }
+        if (afterId != null) {
+            candidates = candidates.tailSet(afterId, false);
+        }
+
+        List<Order> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Long> it = candidates.iterator();
+        while (page.size() < limit && it.hasNext()) {
+            Order order = lookup.apply(it.next());
+            if (order != null
+                    && (state == null || order.getState() == state)
+                    && (customer == null || customer.equals(normalize(order.getCustomerName())))) {
+                page.add(order);
+            }
+        }
+        return page;
+    }
+
+    private static String normalize(String customerName){
+        return customerName == null || customerName.isBlank() ? null : customerName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,262 @@
+package com.learn.Task2.repository.persistence;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.learn.Task2.model.entity.OrderChange;
+import com.learn.Task2.model.entity.OrderState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/*
+ * Append-only NDJSON file of order changes, one line per change. Appends take a single
+ * lock, number the change and write it to the end of the file, so the file is always
+ * in sequence order and a write is one sequential append. The lock is a ReentrantLock
+ * rather than a monitor, so a virtual thread blocked on the write does not pin its
+ * carrier. An append returns only once its line is forced to disk. The force runs
+ * after the lock is released and covers everything written by then, so appenders that
+ * arrive while one fsync is in progress share the next one instead of queueing one
+ * each. If a force fails, no further appends are accepted.
+ *
+ * A failed append truncates the file back to the end of the last complete line, so a
+ * partial line never sits in front of the next one. The file format is fixed here
+ * rather than taken from the application's ObjectMapper, which follows spring.jackson
+ * settings meant for HTTP responses.
+ */
+@Slf4j
+public class OrderEventLog implements AutoCloseable {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.INDENT_OUTPUT)
+            .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final ObjectWriter writer = MAPPER.writerFor(OrderChange.class);
+    private final ObjectReader reader = MAPPER.readerFor(OrderChange.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    private FileChannel channel;
+    // End of the last complete line; read by the forcing appender without the lock
+    private volatile long size;
+    // Everything before this offset is on disk
+    private volatile long forced;
+    private long sequence;
+    private IOException failure;
+
+    public OrderEventLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Streams every change in the file to replayed, in log order, and opens the file for
+     * appending; returns the number of changes. The file is read line by line, so only
+     * the current line is held in memory. Bytes after the last newline, and a last line
+     * that does not parse, were torn by a crash mid-append and are dropped; a bad line
+     * anywhere else fails the read.
+     */
+    public long open(Consumer<OrderChange> replayed) {
+        lock.lock();
+        try {
+            if (channel != null) {
+                throw new IllegalStateException("Event log already open");
+            }
+            long count = 0;
+            long read = 0;
+            // End of the last line that parsed
+            long validEnd = 0;
+            long lineNumber = 0;
+            // A line that did not parse; only allowed if no complete line follows it
+            long badLine = 0;
+            if (Files.exists(file)) {
+                byte[] buffer = new byte[READ_BUFFER_SIZE];
+                byte[] line = new byte[256];
+                int lineLength = 0;
+                try (InputStream input = Files.newInputStream(file)) {
+                    int n;
+                    while ((n = input.read(buffer)) > 0) {
+                        int from = 0;
+                        for (int i = 0; i < n; i++) {
+                            if (buffer[i] != '\n') {
+                                continue;
+                            }
+                            line = append(line, lineLength, buffer, from, i - from);
+                            lineLength += i - from;
+                            lineNumber++;
+                            if (badLine != 0) {
+                                throw new IllegalStateException(
+                                        "Corrupt order event log " + file + " at line " + badLine);
+                            }
+                            // Parsed straight from the bytes, so a torn multi-byte character fails only its own line
+                            OrderChange change = parse(line, 0, lineLength);
+                            if (change == null) {
+                                badLine = lineNumber;
+                            } else {
+                                replayed.accept(change);
+                                count++;
+                                sequence = change.sequence();
+                                validEnd = read + i + 1;
+                            }
+                            lineLength = 0;
+                            from = i + 1;
+                        }
+                        line = append(line, lineLength, buffer, from, n - from);
+                        lineLength += n - from;
+                        read += n;
+                    }
+                }
+            }
+            if (validEnd < read) {
+                log.warn("Dropping {} bytes torn off the end of {}", read - validEnd, file);
+            }
+
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+            size = validEnd;
+            forced = validEnd;
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open order event log " + file, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Numbers the change, appends it and returns it once it is on disk; if this throws
+    // before the write, the file is as it was
+    public OrderChange append(long orderId, OrderState state, LocalDateTime occurredAt,
+                              String customerName, BigDecimal totalAmount) {
+        OrderChange change;
+        FileChannel appended;
+        long end;
+        lock.lock();
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("Event log is not open");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Order event log " + file + " failed earlier", failure);
+            }
+            change = new OrderChange(sequence + 1, orderId, state, occurredAt, customerName, totalAmount);
+            byte[] json = writer.writeValueAsBytes(change);
+            ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            try {
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            } catch (IOException ex) {
+                rollBack(ex);
+                throw ex;
+            }
+            size = channel.position();
+            end = size;
+            appended = channel;
+            sequence = change.sequence();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to order event log " + file, ex);
+        } finally {
+            lock.unlock();
+        }
+        force(appended, end);
+        return change;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns once everything up to end is on disk, forcing the file unless a concurrent force already covered it
+    private void force(FileChannel appended, long end) {
+        if (forced >= end) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (forced >= end) {
+                return;
+            }
+            // Lines appended while this appender waited for forceLock are covered too
+            long covered = size;
+            appended.force(false);
+            forced = covered;
+        } catch (IOException ex) {
+            lock.lock();
+            try {
+                // Lines may or may not have reached the disk, so the log can no longer say what it holds
+                if (failure == null) {
+                    failure = ex;
+                }
+            } finally {
+                lock.unlock();
+            }
+            throw new UncheckedIOException("Could not force order event log " + file + " to disk", ex);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    // Drops whatever part of the line was written; if even that fails, no further appends are accepted
+    private void rollBack(IOException cause) {
+        try {
+            channel.truncate(size);
+            channel.position(size);
+        } catch (IOException ex) {
+            cause.addSuppressed(ex);
+            failure = cause;
+            log.error("Could not truncate {} after a failed append, rejecting further appends", file, ex);
+        }
+    }
+
+    private OrderChange parse(byte[] data, int from, int to) {
+        try {
+            return reader.readValue(data, from, to - from);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    // Appends bytes to the line being assembled, growing it if needed
+    private static byte[] append(byte[] line, int length, byte[] bytes, int from, int count) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+        }
+        System.arraycopy(bytes, from, line, length, count);
+        return line;
+    }
+}
@@ -1,7 +1,15 @@
 package com.learn.Task2.service;
 
 import com.learn.Task2.model.dto.request.CreateOrderRequest;
+import com.learn.Task2.model.dto.request.TransitionItem;
+import com.learn.Task2.model.dto.response.OrderHistoryEntry;
+import com.learn.Task2.model.dto.response.OrderPage;
 import com.learn.Task2.model.dto.response.OrderResponse;
+import com.learn.Task2.model.dto.response.TransitionResult;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
+
+import java.util.List;
 
 public interface OrderService {
 
@@ -9,10 +17,19 @@ public interface OrderService {
 
     OrderResponse get(Long id);
 
+    List<OrderHistoryEntry> history(Long id);
+
+    OrderPage list(OrderState state, String customerName, Long after, int limit);
+
     OrderResponse approve(Long id);
     OrderResponse pay(Long id);
 
     OrderResponse ship(Long id);
 
     OrderResponse close(Long id);
+
+    OrderResponse transition(Long id, OrderEvent event);
+
+    // Results in request order; failed items carry an error instead of failing the batch
+    List<TransitionResult> transitionAll(List<TransitionItem> items);
 }
@@ -2,33 +2,50 @@ package com.learn.Task2.service.impl;
 
 import com.learn.Task2.exception.InvalidOrderStateException;
 import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.exception.UnknownOrderEventException;
 import com.learn.Task2.mapper.OrderMapper;
 import com.learn.Task2.model.dto.request.CreateOrderRequest;
+import com.learn.Task2.model.dto.request.TransitionItem;
+import com.learn.Task2.model.dto.response.OrderHistoryEntry;
+import com.learn.Task2.model.dto.response.OrderPage;
 import com.learn.Task2.model.dto.response.OrderResponse;
+import com.learn.Task2.model.dto.response.TransitionResult;
 import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
 import com.learn.Task2.model.entity.OrderState;
 import com.learn.Task2.repository.OrderRepository;
 import com.learn.Task2.service.OrderService;
+import com.learn.Task2.statemachine.OrderStateMachine;
+import com.learn.Task2.util.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
 @Service
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository repository;
     private final OrderMapper mapper;
+    private final OrderStateMachine stateMachine;
 
-    public OrderServiceImpl(OrderRepository repository, OrderMapper mapper) {
+    public OrderServiceImpl(OrderRepository repository, OrderMapper mapper, OrderStateMachine stateMachine) {
         this.repository = repository;
         this.mapper = mapper;
+        this.stateMachine = stateMachine;
 
     }
 
     @Override
     public OrderResponse create(CreateOrderRequest request){
         Order order = mapper.toEntity(request);
-        order.setState(OrderState.valueOf(OrderState.CREATED.toString()));
+        order.setState(OrderState.CREATED);
 
         return mapper.toDto(repository.save(order));
 
@@ -43,55 +60,77 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public OrderResponse approve(Long id){
-        Order order = getOrderInternal(id);
-        requireState(order, OrderState.CREATED);
-        order.setState(OrderState.valueOf(OrderState.APPROVED.toString()));
-
-        return mapper.toDto(repository.save(order));
+    public List<OrderHistoryEntry> history(Long id){
+        return mapper.toHistory(repository.findHistory(id));
     }
 
     @Override
-    public OrderResponse pay(Long id){
-        Order order = getOrderInternal(id);
-        requireState(order, OrderState.APPROVED);
-        order.setState(OrderState.valueOf(OrderState.PAID.toString()));
+    public OrderPage list(OrderState state, String customerName, Long after, int limit){
+        // Fetch one extra row to find out whether another page follows
+        List<Order> orders = repository.findPage(state, customerName, after, limit + 1);
+        Long nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            nextCursor = orders.get(limit - 1).getId();
+        }
+        return new OrderPage(mapper.toDtoList(orders), nextCursor);
+    }
 
-        return mapper.toDto(repository.save(order));
+    @Override
+    public OrderResponse approve(Long id){
+        return transition(id, OrderEvent.APPROVE);
+    }
 
+    @Override
+    public OrderResponse pay(Long id){
+        return transition(id, OrderEvent.PAY);
     }
 
     @Override
     public OrderResponse ship(Long id){
-        Order order = getOrderInternal(id);
-        requireState(order, OrderState.PAID);
-        order.setState(OrderState.valueOf(OrderState.SHIPPED.toString()));
-
-        return mapper.toDto(repository.save(order));
-
+        return transition(id, OrderEvent.SHIP);
     }
 
     @Override
     public OrderResponse close(Long id){
-        Order order = getOrderInternal(id);
-        requireState(order, OrderState.SHIPPED);
-        order.setState(OrderState.valueOf(OrderState.CLOSED.toString()));
-
-        return mapper.toDto(repository.save(order));
-
+        return transition(id, OrderEvent.CLOSE);
     }
 
-    private Order getOrderInternal(Long id){
-
-        return repository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+    @Override
+    public OrderResponse transition(Long id, OrderEvent event){
+        return mapper.toDto(stateMachine.fire(id, event));
     }
 
-    private void requireState(Order order, OrderState expected){
+    @Override
+    public List<TransitionResult> transitionAll(List<TransitionItem> items){
+        // Items for one order run in request order; different orders run in parallel
+        Map<Long, List<Integer>> byOrder = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            byOrder.computeIfAbsent(items.get(i).getId(), id -> new ArrayList<>(1)).add(i);
+        }
+        TransitionResult[] results = new TransitionResult[items.size()];
+        Stream<List<Integer>> groups = byOrder.values().stream();
+        if (items.size() >= Constants.PARALLEL_THRESHOLD) {
+            groups = groups.parallel();
+        }
+        groups.forEach(group -> {
+            for (int index : group) {
+                results[index] = apply(items.get(index));
+            }
+        });
+        return Arrays.asList(results);
+    }
 
-        if (order.getState() != expected){
-            throw new InvalidOrderStateException(
-                    "Expected state" + expected + "but was" + order.getState()
-            );
+    private TransitionResult apply(TransitionItem item){
+        try {
+            Order order = stateMachine.fire(item.getId(), OrderEvent.fromName(item.getEvent()));
+            return new TransitionResult(order.getId(), order.getState(), null);
+        } catch (OrderNotFoundException | InvalidOrderStateException | UnknownOrderEventException ex) {
+            return new TransitionResult(item.getId(), null, ex.getMessage());
+        } catch (RuntimeException ex) {
+            // A failing guard, hook or store fails its own item, not the rest of the batch
+            log.error("Transition {} of order {} failed", item.getEvent(), item.getId(), ex);
+            return new TransitionResult(item.getId(), null, ex.getMessage());
         }
     }
 
@@ -0,0 +1,89 @@
+package com.learn.Task2.statemachine;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * The order lifecycle as data: RULES lists every allowed (state, event) -> state step
+ * and is compiled into a flat array indexed by the two ordinals. A new path such as
+ * cancel or refund is a new event and a row here. The table lookup, guards and hooks
+ * allocate nothing; a transition still allocates in the repository: the Optional from
+ * findById, the capturing lambda passed to computeIfPresent and the updated order.
+ */
+@Component
+public class OrderStateMachine {
+
+    static final List<Rule> RULES = List.of(
+            new Rule(OrderState.CREATED, OrderEvent.APPROVE, OrderState.APPROVED),
+            new Rule(OrderState.APPROVED, OrderEvent.PAY, OrderState.PAID),
+            new Rule(OrderState.PAID, OrderEvent.SHIP, OrderState.SHIPPED),
+            new Rule(OrderState.SHIPPED, OrderEvent.CLOSE, OrderState.CLOSED)
+    );
+
+    private static final int EVENT_COUNT = OrderEvent.values().length;
+
+    private final OrderRepository repository;
+    // Target state per state.ordinal() * EVENT_COUNT + event.ordinal(); null where not allowed
+    private final OrderState[] table = new OrderState[OrderState.values().length * EVENT_COUNT];
+    private final OrderTransitionGuard[] guards;
+    private final OrderTransitionHook[] hooks;
+
+    public OrderStateMachine(OrderRepository repository, List<OrderTransitionGuard> guards,
+                             List<OrderTransitionHook> hooks) {
+        this.repository = repository;
+        for (Rule rule : RULES) {
+            table[rule.from().ordinal() * EVENT_COUNT + rule.event().ordinal()] = rule.to();
+        }
+        this.guards = guards.toArray(new OrderTransitionGuard[0]);
+        this.hooks = hooks.toArray(new OrderTransitionHook[0]);
+    }
+
+    @Autowired
+    public OrderStateMachine(OrderRepository repository, ObjectProvider<OrderTransitionGuard> guards,
+                             ObjectProvider<OrderTransitionHook> hooks) {
+        this(repository, guards.orderedStream().toList(), hooks.orderedStream().toList());
+    }
+
+    // The state event leads to from state, or null if the event is not allowed there
+    public OrderState target(OrderState state, OrderEvent event) {
+        return table[state.ordinal() * EVENT_COUNT + event.ordinal()];
+    }
+
+    /**
+     * Applies event to the order. Of concurrent events on one order only those valid for
+     * the state each one replaces succeed; the rest fail with InvalidOrderStateException.
+     */
+    public Order fire(Long id, OrderEvent event) {
+        // Not orElseThrow: its capturing lambda would be allocated on top of the Optional
+        Order current = repository.findById(id).orElse(null);
+        if (current == null) {
+            throw new OrderNotFoundException(id);
+        }
+        OrderState target = target(current.getState(), event);
+        if (target == null) {
+            throw new InvalidOrderStateException(
+                    "Cannot " + event + " an order in state " + current.getState()
+            );
+        }
+        for (OrderTransitionGuard guard : guards) {
+            guard.check(current, event, target);
+        }
+        Order updated = repository.transition(id, current.getState(), target);
+        for (OrderTransitionHook hook : hooks) {
+            hook.afterTransition(current, updated, event);
+        }
+        return updated;
+    }
+
+    record Rule(OrderState from, OrderEvent event, OrderState to) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.learn.Task2.statemachine;
+
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
+
+/*
+ * Extra condition on a transition the table allows, e.g. a payment check before PAY.
+ * Guards see the order as it was read before the transition and reject it by throwing;
+ * the state itself is re-checked atomically when the transition is applied.
+ */
+public interface OrderTransitionGuard {
+    void check(Order order, OrderEvent event, OrderState target);
+}
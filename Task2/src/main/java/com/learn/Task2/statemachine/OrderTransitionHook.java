@@ -0,0 +1,9 @@
+package com.learn.Task2.statemachine;
+
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
+
+// Called once after each successful transition, on the thread that made it
+public interface OrderTransitionHook {
+    void afterTransition(Order previous, Order current, OrderEvent event);
+}
@@ -1,4 +1,14 @@
 package com.learn.Task2.util;
 
 public class Constants {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1_000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int MAX_BATCH_SIZE = 100_000;
+    // Batch items applied and, when streaming, written and flushed together
+    public static final int BATCH_CHUNK_SIZE = 1_000;
+    // Smaller batches run on the request thread; forking costs more than it saves
+    public static final int PARALLEL_THRESHOLD = 256;
 }
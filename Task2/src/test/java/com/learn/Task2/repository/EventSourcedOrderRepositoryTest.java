@@ -0,0 +1,194 @@
+package com.learn.Task2.repository;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderChange;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.EventSourcedOrderRepository;
+import com.learn.Task2.repository.persistence.OrderEventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventSourcedOrderRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private OrderEventLog eventLog;
+    private EventSourcedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("order-events.ndjson");
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventLog.close();
+    }
+
+    private EventSourcedOrderRepository open() {
+        eventLog = new OrderEventLog(file);
+        EventSourcedOrderRepository opened = new EventSourcedOrderRepository(eventLog);
+        opened.replay();
+        return opened;
+    }
+
+    private EventSourcedOrderRepository reopen() throws Exception {
+        eventLog.close();
+        return open();
+    }
+
+    private Order create(String customerName) {
+        return repository.save(Order.builder()
+                .customerName(customerName)
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.CREATED)
+                .build());
+    }
+
+    @Test
+    void historyListsEveryChangeInOrder() {
+        Order order = create("Alice");
+        repository.transition(order.getId(), OrderState.CREATED, OrderState.APPROVED);
+        repository.transition(order.getId(), OrderState.APPROVED, OrderState.PAID);
+
+        assertThat(repository.findHistory(order.getId()))
+                .extracting(OrderChange::state)
+                .containsExactly(OrderState.CREATED, OrderState.APPROVED, OrderState.PAID);
+        assertThat(repository.findHistory(order.getId()).get(0).customerName()).isEqualTo("Alice");
+        assertThat(repository.findById(order.getId())).get()
+                .extracting(Order::getState).isEqualTo(OrderState.PAID);
+    }
+
+    @Test
+    void rejectedTransitionAppendsNothing() throws Exception {
+        Order order = create("Alice");
+        int lines = Files.readAllLines(file).size();
+
+        assertThatThrownBy(() -> repository.transition(order.getId(), OrderState.PAID, OrderState.SHIPPED))
+                .isInstanceOf(InvalidOrderStateException.class);
+        assertThatThrownBy(() -> repository.findHistory(99L))
+                .isInstanceOf(OrderNotFoundException.class);
+
+        assertThat(Files.readAllLines(file).size()).isEqualTo(lines);
+        assertThat(repository.findHistory(order.getId())).hasSize(1);
+    }
+
+    @Test
+    void replayRebuildsProjectionsHistoryAndIds() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            Order order = create(i % 2 == 0 ? "Alice" : "Bob");
+            if (i % 5 == 0) {
+                repository.transition(order.getId(), OrderState.CREATED, OrderState.APPROVED);
+            }
+        }
+        Order before = repository.findById(11L).orElseThrow();
+
+        repository = reopen();
+
+        assertThat(repository.findById(11L)).contains(before);
+        assertThat(repository.findHistory(11L)).extracting(OrderChange::state)
+                .containsExactly(OrderState.CREATED, OrderState.APPROVED);
+        assertThat(repository.findPage(OrderState.APPROVED, null, null, 100)).hasSize(10);
+        assertThat(repository.findPage(null, "alice", null, 100)).hasSize(25);
+        assertThat(create("Carol").getId()).isEqualTo(51L);
+    }
+
+    @Test
+    void replayDropsATornLastLine() throws Exception {
+        Order order = create("Alice");
+        repository.transition(order.getId(), OrderState.CREATED, OrderState.APPROVED);
+        eventLog.close();
+        Files.writeString(file, "{\"sequence\":3,\"orderId\":1,\"sta", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        repository = open();
+        repository.transition(order.getId(), OrderState.APPROVED, OrderState.PAID);
+        repository = reopen();
+
+        assertThat(repository.findHistory(order.getId())).extracting(OrderChange::sequence)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(repository.findById(order.getId())).get()
+                .extracting(Order::getState).isEqualTo(OrderState.PAID);
+    }
+
+    @Test
+    void replayDropsALastLineTornInsideACharacter() throws Exception {
+        create("Alice");
+        eventLog.close();
+        byte[] name = "{\"sequence\":2,\"orderId\":2,\"customerName\":\"Jos\u00e9".getBytes(StandardCharsets.UTF_8);
+        // Cut after the first byte of the two-byte 'é'
+        Files.write(file, Arrays.copyOf(name, name.length - 1), StandardOpenOption.APPEND);
+        Files.write(file, new byte[]{'\n'}, StandardOpenOption.APPEND);
+
+        repository = open();
+
+        assertThat(repository.findById(2L)).isEmpty();
+        assertThat(create("Bob").getId()).isEqualTo(2L);
+        assertThat(repository.findHistory(2L)).extracting(OrderChange::sequence).containsExactly(2L);
+    }
+
+    @Test
+    void replayFailsOnACorruptLineBeforeTheEnd() throws Exception {
+        create("Alice");
+        eventLog.close();
+        Files.writeString(file, "not json\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.writeString(file, "{\"sequence\":3,\"orderId\":3,\"state\":\"CREATED\"}\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertThatThrownBy(this::open)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void replayReadsLinesLongerThanTheReadBuffer() throws Exception {
+        String longName = "x".repeat(200_000);
+        Order order = create(longName);
+        repository.transition(order.getId(), OrderState.CREATED, OrderState.APPROVED);
+
+        repository = reopen();
+
+        assertThat(repository.findById(order.getId())).get()
+                .extracting(Order::getCustomerName).isEqualTo(longName);
+        assertThat(repository.findHistory(order.getId())).hasSize(2);
+    }
+
+    @Test
+    void concurrentAppendsAreAllReplayed() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Order>> created = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                created.add(executor.submit(() -> create("Customer")));
+            }
+            for (Future<Order> order : created) {
+                order.get();
+            }
+        }
+
+        repository = reopen();
+
+        assertThat(repository.findPage(null, "customer", null, 500)).hasSize(200);
+        assertThat(create("Last").getId()).isEqualTo(201L);
+    }
+}
@@ -0,0 +1,108 @@
+package com.learn.Task2.repository;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.OrderNotFoundException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryOrderRepositoryTest {
+
+    private InMemoryOrderRepository repository;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        order = repository.save(Order.builder()
+                .customerName("Alice")
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.APPROVED)
+                .build());
+    }
+
+    @Test
+    void concurrentTransitionsSucceedExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    repository.transition(order.getId(), OrderState.APPROVED, OrderState.PAID);
+                    return true;
+                } catch (InvalidOrderStateException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> attempt : attempts) {
+            succeeded += attempt.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(repository.findById(order.getId())).get().extracting(Order::getState).isEqualTo(OrderState.PAID);
+    }
+
+    @Test
+    void transitionLeavesEarlierInstancesUntouched() {
+        Order paid = repository.transition(order.getId(), OrderState.APPROVED, OrderState.PAID);
+
+        assertThat(paid.getState()).isEqualTo(OrderState.PAID);
+        assertThat(order.getState()).isEqualTo(OrderState.APPROVED);
+    }
+
+    @Test
+    void transitionRejectsWrongStateAndUnknownOrder() {
+        assertThatThrownBy(() -> repository.transition(order.getId(), OrderState.PAID, OrderState.SHIPPED))
+                .isInstanceOf(InvalidOrderStateException.class);
+        assertThatThrownBy(() -> repository.transition(99L, OrderState.CREATED, OrderState.APPROVED))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    @Test
+    void findPageFollowsTransitionsThroughTheIndexes() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(Order.builder()
+                    .customerName(i % 2 == 0 ? "Bob" : "alice")
+                    .totalAmount(BigDecimal.ONE)
+                    .state(OrderState.APPROVED)
+                    .build());
+        }
+        // IDs 1 (Alice) and 2 to 6; pay every order but 4
+        for (long id = 1; id <= 6; id++) {
+            if (id != 4) {
+                repository.transition(id, OrderState.APPROVED, OrderState.PAID);
+            }
+        }
+
+        assertThat(repository.findPage(OrderState.PAID, null, null, 10))
+                .extracting(Order::getId).containsExactly(1L, 2L, 3L, 5L, 6L);
+        assertThat(repository.findPage(OrderState.PAID, null, 3L, 2))
+                .extracting(Order::getId).containsExactly(5L, 6L);
+        assertThat(repository.findPage(OrderState.APPROVED, null, null, 10))
+                .extracting(Order::getId).containsExactly(4L);
+        assertThat(repository.findPage(OrderState.PAID, " ALICE ", null, 10))
+                .extracting(Order::getId).containsExactly(1L, 3L, 5L);
+        assertThat(repository.findPage(null, null, 4L, 10))
+                .extracting(Order::getId).containsExactly(5L, 6L);
+    }
+}
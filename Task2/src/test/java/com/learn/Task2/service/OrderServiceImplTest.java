@@ -0,0 +1,95 @@
+package com.learn.Task2.service;
+
+import com.learn.Task2.mapper.OrderMapperImpl;
+import com.learn.Task2.model.dto.request.TransitionItem;
+import com.learn.Task2.model.dto.response.TransitionResult;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import com.learn.Task2.service.impl.OrderServiceImpl;
+import com.learn.Task2.statemachine.OrderStateMachine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderServiceImplTest {
+
+    private InMemoryOrderRepository repository;
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        service = new OrderServiceImpl(repository, new OrderMapperImpl(),
+                new OrderStateMachine(repository, List.of(), List.of()));
+    }
+
+    private void createOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            repository.save(Order.builder()
+                    .customerName("Customer " + i)
+                    .totalAmount(BigDecimal.TEN)
+                    .state(OrderState.CREATED)
+                    .build());
+        }
+    }
+
+    @Test
+    void batchReportsEachItemInRequestOrder() {
+        createOrders(2);
+
+        List<TransitionResult> results = service.transitionAll(List.of(
+                new TransitionItem(1L, "approve"),
+                new TransitionItem(1L, "pay"),
+                new TransitionItem(2L, "ship"),
+                new TransitionItem(3L, "approve"),
+                new TransitionItem(2L, "refund")));
+
+        assertThat(results).extracting(TransitionResult::getState)
+                .containsExactly(OrderState.APPROVED, OrderState.PAID, null, null, null);
+        assertThat(results.get(2).getError()).contains("SHIP");
+        assertThat(results.get(3).getError()).isEqualTo("Order not found: 3");
+        assertThat(results.get(4).getError()).isEqualTo("Unknown order event: refund");
+    }
+
+    @Test
+    void largeBatchesKeepPerOrderOrderWhileRunningInParallel() {
+        createOrders(500);
+        List<TransitionItem> items = new ArrayList<>();
+        for (String event : List.of("approve", "pay", "ship")) {
+            for (long id = 1; id <= 500; id++) {
+                items.add(new TransitionItem(id, event));
+            }
+        }
+
+        List<TransitionResult> results = service.transitionAll(items);
+
+        assertThat(results).hasSize(1500).allSatisfy(result -> assertThat(result.getError()).isNull());
+        assertThat(repository.findById(250L)).get().extracting(Order::getState).isEqualTo(OrderState.SHIPPED);
+    }
+
+    @Test
+    void unexpectedFailuresFailOnlyTheirOwnItem() {
+        service = new OrderServiceImpl(repository, new OrderMapperImpl(),
+                new OrderStateMachine(repository, List.of((order, event, target) -> {
+                    if (order.getId() == 2L) {
+                        throw new IllegalStateException("Payment service unavailable");
+                    }
+                }), List.of()));
+        createOrders(3);
+
+        List<TransitionResult> results = service.transitionAll(List.of(
+                new TransitionItem(1L, "approve"),
+                new TransitionItem(2L, "approve"),
+                new TransitionItem(3L, "approve")));
+
+        assertThat(results).extracting(TransitionResult::getState)
+                .containsExactly(OrderState.APPROVED, null, OrderState.APPROVED);
+        assertThat(results.get(1).getError()).isEqualTo("Payment service unavailable");
+    }
+}
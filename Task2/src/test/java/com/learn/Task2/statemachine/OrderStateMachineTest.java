@@ -0,0 +1,79 @@
+package com.learn.Task2.statemachine;
+
+import com.learn.Task2.exception.InvalidOrderStateException;
+import com.learn.Task2.exception.UnknownOrderEventException;
+import com.learn.Task2.model.entity.Order;
+import com.learn.Task2.model.entity.OrderEvent;
+import com.learn.Task2.model.entity.OrderState;
+import com.learn.Task2.repository.impl.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderStateMachineTest {
+
+    private InMemoryOrderRepository repository;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        id = repository.save(Order.builder()
+                .customerName("Alice")
+                .totalAmount(BigDecimal.TEN)
+                .state(OrderState.CREATED)
+                .build()).getId();
+    }
+
+    @Test
+    void tableAllowsOnlyTheDeclaredSteps() {
+        OrderStateMachine stateMachine = new OrderStateMachine(repository, List.of(), List.of());
+        int allowed = 0;
+        for (OrderState state : OrderState.values()) {
+            for (OrderEvent event : OrderEvent.values()) {
+                allowed += stateMachine.target(state, event) != null ? 1 : 0;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(OrderStateMachine.RULES.size());
+        assertThat(stateMachine.target(OrderState.APPROVED, OrderEvent.PAY)).isEqualTo(OrderState.PAID);
+        assertThat(stateMachine.target(OrderState.CREATED, OrderEvent.PAY)).isNull();
+    }
+
+    @Test
+    void firesThroughGuardsAndHooks() {
+        List<String> calls = new ArrayList<>();
+        OrderStateMachine stateMachine = new OrderStateMachine(repository,
+                List.of((order, event, target) -> calls.add("guard " + event + " -> " + target)),
+                List.of((previous, current, event) -> calls.add("hook " + previous.getState() + " -> " + current.getState())));
+
+        Order approved = stateMachine.fire(id, OrderEvent.APPROVE);
+
+        assertThat(approved.getState()).isEqualTo(OrderState.APPROVED);
+        assertThat(calls).containsExactly("guard APPROVE -> APPROVED", "hook CREATED -> APPROVED");
+    }
+
+    @Test
+    void rejectsEventsTheStateDoesNotAllow() {
+        OrderStateMachine stateMachine = new OrderStateMachine(repository, List.of(),
+                List.of((previous, current, event) -> {
+                    throw new AssertionError("hook must not run");
+                }));
+
+        assertThatThrownBy(() -> stateMachine.fire(id, OrderEvent.SHIP))
+                .isInstanceOf(InvalidOrderStateException.class);
+        assertThat(repository.findById(id)).get().extracting(Order::getState).isEqualTo(OrderState.CREATED);
+    }
+
+    @Test
+    void parsesEventNamesCaseInsensitively() {
+        assertThat(OrderEvent.fromName("pay")).isEqualTo(OrderEvent.PAY);
+        assertThatThrownBy(() -> OrderEvent.fromName("refund")).isInstanceOf(UnknownOrderEventException.class);
+    }
+}